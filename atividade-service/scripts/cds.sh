@@ -0,0 +1,23 @@
+#!/usr/bin/env sh
+# Gera o jar AOT, extrai e faz a execução de treino que grava o arquivo CDS (classes já carregadas e verificadas).
+# Uso: scripts/cds.sh   (a partir de atividade-service/)
+# Depois: java -XX:SharedArchiveFile=target/app/application.jsa -Dspring.aot.enabled=true \
+#              -jar target/app/atividade-service.jar --spring.profiles.active=startup
+set -e
+
+sh ./mvnw -B -Pstartup -DskipTests package
+
+rm -rf target/app
+java -Djarmode=tools -jar target/atividade-service-0.0.1-SNAPSHOT.jar extract --destination target/app
+mv target/app/atividade-service-0.0.1-SNAPSHOT.jar target/app/atividade-service.jar
+
+# Treino: sobe o contexto inteiro e sai logo após o refresh. Banco em memória para não tocar no arquivo H2;
+# o arquivo CDS só vale para o mesmo jar, a mesma JVM e o mesmo classpath
+java -XX:ArchiveClassesAtExit=target/app/application.jsa \
+     -Dspring.context.exit=onRefresh \
+     -Dspring.aot.enabled=true \
+     -jar target/app/atividade-service.jar \
+     --spring.profiles.active=startup \
+     --spring.datasource.url=jdbc:h2:mem:treino
+
+echo "Arquivo CDS: target/app/application.jsa"
@@ -0,0 +1,202 @@
+package com.projetochamada.atividade;
+
+import com.projetochamada.atividade.dto.AtividadeRequest;
+import com.projetochamada.atividade.service.AtividadeService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Carga com banco lento: metade das threads lista atividades (duas consultas de LATENCIA_MS cada) e metade lê do
+// índice em memória (/proximas), ao mesmo tempo. Com threads de plataforma as leituras em memória esperam atrás das
+// requisições presas no pool de conexões; com threads virtuais não. Mesmo pool de conexões nos dois modos.
+// O SampleTime dá p50/p99 de cada lado do grupo
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class CargaThreadsVirtuaisBenchmark {
+
+    private static final String SECRET = "xv2OaezLoTRFpRo59g02BnoVQYZUUyW4GuMzPtrhU8g=";
+    private static final long LATENCIA_MS = 20;
+    private static final int POOL_CONEXOES = 20;
+    // Threads do JMH em cada lado do grupo: o dobro dispara requisições ao mesmo tempo
+    private static final int CLIENTES = 200;
+
+    private static volatile boolean bancoLento;
+
+    @Param({"false", "true"})
+    public boolean threadsVirtuais;
+
+    private ConfigurableApplicationContext contexto;
+    private HttpClient cliente;
+    private HttpRequest listagem;
+    private HttpRequest proximas;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        bancoLento = false;
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(AtividadeServiceApplication.class, BancoLentoConfig.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:carga-" + threadsVirtuais + ";DB_CLOSE_DELAY=-1",
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_CONEXOES,
+                        "spring.datasource.hikari.minimum-idle=" + POOL_CONEXOES,
+                        "spring.datasource.hikari.connection-timeout=30000",
+                        // Um único usuário dispara toda a carga; o controle de admissão não é o que se mede aqui
+                        "atividades.limite.professor.por-segundo=1000000",
+                        "atividades.limite.professor.rajada=1000000",
+                        "atividades.limite.concorrencia=" + 2 * CLIENTES,
+                        "spring.devtools.restart.enabled=false",
+                        "logging.level.root=WARN");
+        if (threadsVirtuais) {
+            builder.profiles("virtual");
+        }
+        contexto = builder.run();
+
+        List<AtividadeRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            requests.add(new AtividadeRequest("Atividade " + i, "Descrição " + i, LocalDateTime.now().plusHours(i + 1)));
+        }
+        contexto.getBean(AtividadeService.class).criarAtividadesEmLote(requests, 1L);
+
+        String base = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+        String autorizacao = "Bearer " + token();
+        listagem = HttpRequest.newBuilder(URI.create(base + "/atividades?view=summary&limit=20"))
+                .header("Authorization", autorizacao)
+                .build();
+        proximas = HttpRequest.newBuilder(URI.create(base + "/atividades/proximas?horas=720&limit=20"))
+                .header("Authorization", autorizacao)
+                .build();
+        cliente = HttpClient.newHttpClient();
+        bancoLento = true;
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        bancoLento = false;
+        cliente.close();
+        contexto.close();
+    }
+
+    @Benchmark
+    @Group("carga")
+    @GroupThreads(CLIENTES)
+    public int listagemNoBanco() throws IOException, InterruptedException {
+        return enviar(listagem);
+    }
+
+    @Benchmark
+    @Group("carga")
+    @GroupThreads(CLIENTES)
+    public int leituraEmMemoria() throws IOException, InterruptedException {
+        return enviar(proximas);
+    }
+
+    private int enviar(HttpRequest requisicao) throws IOException, InterruptedException {
+        int status = cliente.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 200) {
+            throw new IllegalStateException("GET " + requisicao.uri() + " respondeu " + status);
+        }
+        return status;
+    }
+
+    private static String token() {
+        return Jwts.builder()
+                .subject("professor1")
+                .claim("userId", 1L)
+                .claim("roles", List.of("ROLE_PROFESSOR"))
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .compact();
+    }
+
+    // Envolve o DataSource para que cada comando SQL demore LATENCIA_MS, como um banco remoto sob carga
+    @Configuration(proxyBeanMethods = false)
+    static class BancoLentoConfig {
+
+        @Bean
+        static BeanPostProcessor bancoLentoPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof BancoLento)
+                            ? new BancoLento(dataSource)
+                            : bean;
+                }
+            };
+        }
+    }
+
+    static class BancoLento extends DelegatingDataSource {
+
+        BancoLento(DataSource alvo) {
+            super(alvo);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return lento(super.getConnection(), Connection.class);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T lento(T alvo, Class<T> tipo) {
+            return (T) Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo}, (proxy, metodo, args) -> {
+                if (bancoLento && alvo instanceof Statement && metodo.getName().startsWith("execute")) {
+                    Thread.sleep(LATENCIA_MS);
+                }
+                Object retorno;
+                try {
+                    retorno = metodo.invoke(alvo, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (retorno instanceof Statement && metodo.getReturnType().isInterface()
+                        && Statement.class.isAssignableFrom(metodo.getReturnType())) {
+                    return lento(retorno, (Class<Object>) metodo.getReturnType());
+                }
+                return retorno;
+            });
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.projetochamada.atividade;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Tempo entre iniciar a JVM e o primeiro GET /atividades com 200, no jar empacotado: padrão, profile startup
+// (lazy-init, sem Hibernate inspecionando o esquema), + AOT e + CDS. Cada medição é uma JVM nova; o arquivo CDS é
+// gerado no setup, com a mesma JVM das medições. Precisa do jar extraído pelo scripts/cds.sh:
+// scripts/cds.sh && mvn -Pbenchmark test-compile exec:exec@jmh -Djmh.filtro=Inicializacao
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 5)
+@Fork(1)
+public class InicializacaoBenchmark {
+
+    private static final String SECRET = "xv2OaezLoTRFpRo59g02BnoVQYZUUyW4GuMzPtrhU8g=";
+    private static final Path APP = Path.of("target/app");
+    private static final Path JAR = APP.resolve("atividade-service.jar");
+    private static final Path ARQUIVO_CDS = APP.resolve("benchmark.jsa");
+    private static final Duration LIMITE = Duration.ofSeconds(90);
+
+    @Param({"padrao", "startup", "startup-aot", "startup-aot-cds"})
+    public String modo;
+
+    private final HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+    private final String token = token();
+    private List<String> opcoesJvm;
+    private List<String> argumentos;
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        if (!Files.exists(JAR)) {
+            throw new IllegalStateException("Jar extraído não encontrado; rode scripts/cds.sh antes");
+        }
+        List<String> startup = List.of("--spring.profiles.active=startup");
+        switch (modo) {
+            case "padrao" -> {
+                opcoesJvm = List.of();
+                argumentos = List.of();
+            }
+            case "startup" -> {
+                opcoesJvm = List.of();
+                argumentos = startup;
+            }
+            case "startup-aot" -> {
+                opcoesJvm = List.of("-Dspring.aot.enabled=true");
+                argumentos = startup;
+            }
+            case "startup-aot-cds" -> {
+                treinarCds();
+                opcoesJvm = List.of("-XX:SharedArchiveFile=" + ARQUIVO_CDS, "-Dspring.aot.enabled=true");
+                argumentos = startup;
+            }
+            default -> throw new IllegalArgumentException("Modo desconhecido: " + modo);
+        }
+    }
+
+    @Benchmark
+    public int primeiraResposta() throws Exception {
+        int porta = portaLivre();
+        long inicio = System.nanoTime();
+        Process processo = iniciar(opcoesJvm, argumentos, porta, modo);
+        try {
+            return aguardarPrimeiraResposta(processo, porta, inicio);
+        } finally {
+            processo.destroy();
+            processo.waitFor();
+        }
+    }
+
+    private void treinarCds() throws Exception {
+        Files.deleteIfExists(ARQUIVO_CDS);
+        Process treino = iniciar(
+                List.of("-XX:ArchiveClassesAtExit=" + ARQUIVO_CDS, "-Dspring.context.exit=onRefresh", "-Dspring.aot.enabled=true"),
+                List.of("--spring.profiles.active=startup"), portaLivre(), "treino");
+        if (treino.waitFor() != 0 || !Files.exists(ARQUIVO_CDS)) {
+            throw new IllegalStateException("Execução de treino do CDS falhou; ver target/app/inicializacao-treino.log");
+        }
+    }
+
+    private Process iniciar(List<String> opcoesJvm, List<String> argumentos, int porta, String nome) throws IOException {
+        List<String> comando = new ArrayList<>();
+        comando.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        comando.addAll(opcoesJvm);
+        comando.add("-jar");
+        comando.add(JAR.toString());
+        comando.addAll(argumentos);
+        comando.add("--server.port=" + porta);
+        // Banco novo em memória a cada execução: mede a subida, não o tamanho do arquivo H2
+        comando.add("--spring.datasource.url=jdbc:h2:mem:inicializacao");
+        File log = APP.resolve("inicializacao-" + nome + ".log").toFile();
+        return new ProcessBuilder(comando)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+    }
+
+    private int aguardarPrimeiraResposta(Process processo, int porta, long inicio) throws Exception {
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/atividades"))
+                .header("Authorization", "Bearer " + token)
+                .build();
+        while (System.nanoTime() - inicio < LIMITE.toNanos()) {
+            if (!processo.isAlive()) {
+                throw new IllegalStateException("A aplicação terminou antes de responder; ver os logs em target/app");
+            }
+            try {
+                int status = cliente.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode();
+                if (status == 200) {
+                    return status;
+                }
+            } catch (IOException e) {
+                // Porta ainda fechada
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException("Sem resposta 200 em " + LIMITE.toSeconds() + "s");
+    }
+
+    private static int portaLivre() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String token() {
+        return Jwts.builder()
+                .subject("professor1")
+                .claim("userId", 1L)
+                .claim("roles", List.of("ROLE_PROFESSOR"))
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .compact();
+    }
+}
@@ -0,0 +1,107 @@
+package com.projetochamada.atividade.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.projetochamada.atividade.config.FormatosBinariosConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Listagem completa em JSON (como hoje), CBOR e Smile, com e sem gzip, usando os mesmos ObjectMappers da aplicação.
+// O tempo é o de codificação (e compressão); os bytes no fio de cada combinação saem no log do @Setup:
+// mvn -Pbenchmark test-compile exec:exec@jmh -Djmh.filtro=FormatosResposta
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormatosRespostaBenchmark {
+
+    @Param({"1000", "100000"})
+    public int quantidade;
+
+    @Param({"json", "cbor", "smile"})
+    public String formato;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private ObjectMapper objectMapper;
+    private List<AtividadeResponse> atividades;
+
+    @Setup
+    public void preparar() throws IOException {
+        objectMapper = mapper(formato);
+        LocalDateTime agora = LocalDateTime.now();
+        atividades = new ArrayList<>(quantidade);
+        for (long id = 1; id <= quantidade; id++) {
+            atividades.add(new AtividadeResponse(id, "Atividade " + id,
+                    "Descrição da atividade " + id + " com o enunciado completo e os critérios de avaliação.",
+                    agora, agora.plusDays(id % 30), id % 50, agora, 0L));
+        }
+
+        long bytes = codificar();
+        long json = escrever(mapper("json"), gzip);
+        System.out.printf("[benchmark] %d atividades, %s%s: %d bytes (%.0f%% do JSON%s)%n",
+                quantidade, formato, gzip ? "+gzip" : "", bytes, 100.0 * bytes / json, gzip ? "+gzip" : "");
+    }
+
+    @Benchmark
+    public long codificar() throws IOException {
+        return escrever(objectMapper, gzip);
+    }
+
+    private long escrever(ObjectMapper mapper, boolean comprimir) throws IOException {
+        ContadorBytes contador = new ContadorBytes();
+        if (!comprimir) {
+            mapper.writeValue(contador, atividades);
+            return contador.total;
+        }
+        // Mesmo nível padrão do compressor do Tomcat
+        try (GZIPOutputStream gzipStream = new GZIPOutputStream(contador, 8192)) {
+            mapper.writeValue(gzipStream, atividades);
+        }
+        return contador.total;
+    }
+
+    private static ObjectMapper mapper(String formato) {
+        return switch (formato) {
+            case "cbor" -> FormatosBinariosConfig.objectMapperBinario(Jackson2ObjectMapperBuilder.json(), new CBORFactory());
+            case "smile" -> FormatosBinariosConfig.objectMapperBinario(Jackson2ObjectMapperBuilder.json(), new SmileFactory());
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+    }
+
+    private static final class ContadorBytes extends OutputStream {
+        long total;
+
+        @Override
+        public void write(int b) {
+            total++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            total += len;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.projetochamada.atividade.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serialização JSON das listagens, com o mesmo ObjectMapper padrão do Spring Boot.
+// Escreve num stream que só conta bytes, para medir o Jackson e não a alocação do resultado
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacaoAtividadesBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int quantidade;
+
+    private ObjectMapper objectMapper;
+    private List<AtividadeResponse> atividades;
+    private List<AtividadeResumoResponse> resumos;
+
+    @Setup
+    public void preparar() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        LocalDateTime agora = LocalDateTime.now();
+        atividades = new ArrayList<>(quantidade);
+        resumos = new ArrayList<>(quantidade);
+        for (long id = 1; id <= quantidade; id++) {
+            atividades.add(new AtividadeResponse(id, "Atividade " + id,
+                    "Descrição da atividade " + id + " com o enunciado completo e os critérios de avaliação.",
+                    agora, agora.plusDays(id % 30), id % 50, agora, 0L));
+            resumos.add(new AtividadeResumoResponse(id, "Atividade " + id, agora.plusDays(id % 30), id % 50));
+        }
+    }
+
+    @Benchmark
+    public long completa() throws IOException {
+        return escrever(atividades);
+    }
+
+    @Benchmark
+    public long resumo() throws IOException {
+        return escrever(resumos);
+    }
+
+    private long escrever(Object valor) throws IOException {
+        ContadorBytes contador = new ContadorBytes();
+        objectMapper.writeValue(contador, valor);
+        return contador.total;
+    }
+
+    private static final class ContadorBytes extends OutputStream {
+        long total;
+
+        @Override
+        public void write(int b) {
+            total++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            total += len;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.projetochamada.atividade.index;
+
+import com.projetochamada.atividade.dto.AtividadeResponse;
+import com.projetochamada.atividade.dto.AtividadeResumoResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Busca por palavra com 100 mil atividades: varredura linear (equivalente ao LIKE '%x%') x índice invertido
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BuscaIndexBenchmark {
+
+    private static final int ATIVIDADES = 100_000;
+    private static final int LIMITE = 20;
+
+    private static final String[] PALAVRAS = {
+            "álgebra", "geometria", "funções", "equações", "frações", "redação", "gramática", "interpretação",
+            "literatura", "poesia", "história", "revolução", "império", "geografia", "clima", "relevo",
+            "biologia", "células", "genética", "evolução", "química", "reações", "ligações", "física",
+            "cinemática", "energia", "óptica", "inglês", "vocabulário", "verbos", "filosofia", "ética",
+            "sociologia", "trabalho", "projeto", "exercícios", "lista", "prova", "seminário", "pesquisa",
+            "leitura", "resumo", "relatório", "experimento", "laboratório", "mapa", "capítulo", "questões"
+    };
+
+    private static final String[] CONSULTAS = {
+            "equacoes", "lista de exercícios", "revolução francesa", "relatorio laboratorio", "genética",
+            "interpretação de texto", "capítulos", "reação química", "prova", "mapa clima relevo"
+    };
+
+    private List<AtividadeResponse> atividades;
+    private BuscaIndex index;
+
+    @Setup
+    public void preparar() {
+        atividades = gerarAtividades();
+        index = new BuscaIndex(null, null);
+        atividades.forEach(index::indexar);
+    }
+
+    // O que o cliente fazia: percorre tudo e compara o texto bruto (sem ranking nem normalização)
+    @Benchmark
+    public List<AtividadeResumoResponse> varreduraLinear() {
+        String termo = consulta().toLowerCase(Locale.ROOT);
+        List<AtividadeResumoResponse> resultado = new ArrayList<>();
+        for (AtividadeResponse a : atividades) {
+            if (a.getTitulo().toLowerCase(Locale.ROOT).contains(termo)
+                    || a.getDescricao().toLowerCase(Locale.ROOT).contains(termo)) {
+                resultado.add(new AtividadeResumoResponse(a.getId(), a.getTitulo(), a.getDataEntrega(), a.getProfessorId()));
+                if (resultado.size() == LIMITE) {
+                    break;
+                }
+            }
+        }
+        return resultado;
+    }
+
+    @Benchmark
+    public List<AtividadeResumoResponse> indiceInvertido() {
+        return index.buscar(consulta(), LIMITE);
+    }
+
+    // Reconstrução completa, como na subida da aplicação
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public BuscaIndex construcao() {
+        BuscaIndex novo = new BuscaIndex(null, null);
+        atividades.forEach(novo::indexar);
+        return novo;
+    }
+
+    private static String consulta() {
+        return CONSULTAS[ThreadLocalRandom.current().nextInt(CONSULTAS.length)];
+    }
+
+    private static List<AtividadeResponse> gerarAtividades() {
+        Random random = new Random(42);
+        LocalDateTime agora = LocalDateTime.now();
+        List<AtividadeResponse> atividades = new ArrayList<>(ATIVIDADES);
+        for (long id = 1; id <= ATIVIDADES; id++) {
+            String titulo = frase(random, 4);
+            String descricao = "Entregar a " + frase(random, 40) + " até a data combinada.";
+            atividades.add(new AtividadeResponse(id, titulo, descricao, agora, agora.plusHours(id % 500),
+                    id % 200, agora, 0L));
+        }
+        return atividades;
+    }
+
+    private static String frase(Random random, int palavras) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < palavras; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(PALAVRAS[random.nextInt(PALAVRAS.length)]);
+        }
+        return sb.toString();
+    }
+}
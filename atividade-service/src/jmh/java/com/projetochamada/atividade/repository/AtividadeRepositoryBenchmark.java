@@ -0,0 +1,104 @@
+package com.projetochamada.atividade.repository;
+
+import com.projetochamada.atividade.AtividadeServiceApplication;
+import com.projetochamada.atividade.dto.AtividadeRequest;
+import com.projetochamada.atividade.dto.AtividadeResumoResponse;
+import com.projetochamada.atividade.model.Atividade;
+import com.projetochamada.atividade.service.AtividadeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Leituras do repositório contra um H2 em memória, com o contexto Spring completo (mesmo mapeamento e índices)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AtividadeRepositoryBenchmark {
+
+    private static final int ATIVIDADES = 10_000;
+    private static final int PROFESSORES = 50;
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 1, 8, 0);
+
+    private ConfigurableApplicationContext contexto;
+    private AtividadeRepository atividadeRepository;
+    private long menorId;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        contexto = new SpringApplicationBuilder(AtividadeServiceApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.devtools.restart.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        atividadeRepository = contexto.getBean(AtividadeRepository.class);
+
+        AtividadeService atividadeService = contexto.getBean(AtividadeService.class);
+        for (int lote = 0; lote < ATIVIDADES / AtividadeService.LOTE_MAXIMO; lote++) {
+            for (long professor = 0; professor < PROFESSORES; professor++) {
+                List<AtividadeRequest> requests = new ArrayList<>();
+                int porProfessor = AtividadeService.LOTE_MAXIMO / PROFESSORES;
+                for (int i = 0; i < porProfessor; i++) {
+                    requests.add(new AtividadeRequest("Atividade " + i, "Descrição da atividade " + i,
+                            BASE.plusHours(lote * porProfessor + i)));
+                }
+                atividadeService.criarAtividadesEmLote(requests, professor);
+            }
+        }
+        menorId = atividadeRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(1)).get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Optional<Atividade> findById() {
+        return atividadeRepository.findById(menorId + ThreadLocalRandom.current().nextInt(ATIVIDADES));
+    }
+
+    @Benchmark
+    public List<Atividade> paginaDeEntidades() {
+        return atividadeRepository.findByIdGreaterThanOrderByIdAsc(
+                menorId + ThreadLocalRandom.current().nextInt(ATIVIDADES), Limit.of(51));
+    }
+
+    @Benchmark
+    public List<AtividadeResumoResponse> paginaDeResumos() {
+        return atividadeRepository.listarResumosAposId(
+                menorId + ThreadLocalRandom.current().nextInt(ATIVIDADES), PageRequest.ofSize(51));
+    }
+
+    @Benchmark
+    public List<AtividadeResumoResponse> resumosPorProfessorEPrazo() {
+        long professor = ThreadLocalRandom.current().nextInt(PROFESSORES);
+        return atividadeRepository.listarResumosPorProfessorEPrazo(professor, BASE.plusDays(2), BASE.plusDays(30),
+                0L, PageRequest.ofSize(51));
+    }
+}
@@ -0,0 +1,84 @@
+package com.projetochamada.atividade.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Autenticação que toda requisição paga: parse do JWT, validação e o filtro completo
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SECRET = "xv2OaezLoTRFpRo59g02BnoVQYZUUyW4GuMzPtrhU8g=";
+
+    private JwtUtil jwtUtil;
+    private JwtAuthenticationFilter filter;
+    private String token;
+
+    @Setup
+    public void preparar() {
+        jwtUtil = new JwtUtil(SECRET, 36_000_000L, 10_000);
+        filter = new JwtAuthenticationFilter(jwtUtil, new SimpleMeterRegistry());
+        token = Jwts.builder()
+                .subject("professor1")
+                .claim("userId", 1L)
+                .claim("roles", List.of("ROLE_PROFESSOR"))
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .compact();
+    }
+
+    // Parse com verificação de assinatura, sem cache
+    @Benchmark
+    public Claims parse() {
+        return jwtUtil.extractAllClaims(token);
+    }
+
+    // Caminho usado pelo filtro: hash do token e consulta ao cache de tokens verificados
+    @Benchmark
+    public TokenVerificado verificarComCache() {
+        return jwtUtil.verificarToken(token);
+    }
+
+    @Benchmark
+    public boolean validar() {
+        TokenVerificado verificado = jwtUtil.verificarToken(token);
+        return jwtUtil.validateToken(verificado, verificado.getUserDetails());
+    }
+
+    @Benchmark
+    public Authentication filtroCompleto() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/atividades");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
@@ -0,0 +1,41 @@
+package com.projetochamada.atividade.service;
+
+import com.projetochamada.atividade.dto.AtividadeResponse;
+import com.projetochamada.atividade.model.Atividade;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Conversão entidade -> DTO feita para cada item de toda listagem
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConversaoAtividadeBenchmark {
+
+    private Atividade atividade;
+
+    @Setup
+    public void preparar() {
+        LocalDateTime agora = LocalDateTime.now();
+        atividade = new Atividade(1L, "Lista de exercícios", "Resolver os exercícios do capítulo 3.",
+                agora, agora.plusDays(7), 10L, agora, 0L, 1L, null);
+    }
+
+    @Benchmark
+    public AtividadeResponse convertToResponse() {
+        return AtividadeService.convertToResponse(atividade);
+    }
+}
@@ -2,8 +2,10 @@ package com.projetochamada.atividade;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class AtividadeServiceApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,74 @@
+package com.projetochamada.atividade.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.projetochamada.atividade.dto.AtividadeCacheStatsResponse;
+import com.projetochamada.atividade.dto.AtividadeResponse;
+import com.projetochamada.atividade.event.AtividadeAlteradaEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+// Cache read-through de GET /atividades/{id}. Guarda o AtividadeResponse pronto para serializar,
+// por isso quem recebe um valor daqui não deve alterá-lo.
+@Component
+public class AtividadeCache {
+
+    // atividade null: excluída nessa versão. O tombstone fica até expirar como qualquer entrada, o bastante para um
+    // evento atrasado de uma versão anterior não trazer a atividade de volta
+    private record Entrada(AtividadeResponse atividade, long versao) {
+    }
+
+    private final Cache<Long, Entrada> atividades;
+
+    public AtividadeCache(@Value("${atividades.cache.max-size:10000}") long maxSize,
+                          @Value("${atividades.cache.ttl:10m}") Duration ttl) {
+        this.atividades = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    // O carregador devolve null quando a atividade não existe; ausências não são guardadas.
+    // Um tombstone em cache responde como ausente sem ir ao banco
+    public Optional<AtividadeResponse> obter(Long id, Function<Long, AtividadeResponse> carregador) {
+        Entrada entrada = atividades.get(id, chave -> {
+            AtividadeResponse atividade = carregador.apply(chave);
+            return atividade == null ? null : new Entrada(atividade, versao(atividade.getVersao()));
+        });
+        return entrada == null ? Optional.empty() : Optional.ofNullable(entrada.atividade());
+    }
+
+    // Roda depois do commit: uma leitura concorrente que carregou o valor antigo termina antes
+    // (o carregamento é atômico por chave) e é sobrescrita aqui, então não sobra valor obsoleto.
+    // Eventos de commits concorrentes podem chegar fora de ordem: o de versão mais antiga que a guardada é ignorado
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void aoAlterarAtividade(AtividadeAlteradaEvent evento) {
+        long versao = versao(evento.getVersao());
+        Entrada nova = new Entrada(evento.getTipo() == AtividadeAlteradaEvent.Tipo.EXCLUIDA ? null : evento.getAtividade(),
+                versao);
+        atividades.asMap().compute(evento.getId(), (id, atual) -> atual != null && atual.versao() > versao ? atual : nova);
+    }
+
+    public AtividadeCacheStatsResponse estatisticas() {
+        CacheStats stats = atividades.stats();
+        return new AtividadeCacheStatsResponse(
+                stats.hitCount(),
+                stats.missCount(),
+                stats.evictionCount(),
+                stats.hitRate(),
+                atividades.estimatedSize()
+        );
+    }
+
+    private static long versao(Long versao) {
+        return versao == null ? 0L : versao;
+    }
+}
@@ -0,0 +1,80 @@
+package com.projetochamada.atividade.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// Respostas em CBOR (Accept: application/cbor) e Smile (Accept: application/x-jackson-smile).
+// Os nomes dos campos continuam no corpo, mas em binário, e as datas viram epoch millis (8 bytes no lugar de uma
+// string ISO de 26). JSON continua sendo o padrão sem Accept
+@Configuration
+public class FormatosBinariosConfig {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    // Os dois beans substituem os conversores CBOR/Smile que o Spring MVC registraria sozinho com um ObjectMapper
+    // sem a configuração do Spring Boot
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(objectMapperBinario(builder, new CBORFactory()));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(objectMapperBinario(builder, new SmileFactory()));
+    }
+
+    // Mesmos módulos e features do ObjectMapper JSON, só troca o formato e a representação das datas.
+    // Público para os benchmarks usarem exatamente o mesmo mapper
+    public static ObjectMapper objectMapperBinario(Jackson2ObjectMapperBuilder builder, JsonFactory factory) {
+        return builder.factory(factory)
+                .postConfigurer(objectMapper -> objectMapper.registerModule(datasEmEpochMillis()))
+                .build();
+    }
+
+    // Registrado depois do JavaTimeModule, tem precedência sobre ele. Usa o mesmo fuso do Last-Modified do controller;
+    // na leitura também aceita a string ISO
+    static SimpleModule datasEmEpochMillis() {
+        ZoneId fuso = ZoneId.systemDefault();
+        SimpleModule modulo = new SimpleModule("datasEmEpochMillis");
+        modulo.addSerializer(LocalDateTime.class, new JsonSerializer<>() {
+            @Override
+            public void serialize(LocalDateTime valor, JsonGenerator gen, SerializerProvider provider) throws IOException {
+                gen.writeNumber(valor.atZone(fuso).toInstant().toEpochMilli());
+            }
+        });
+        modulo.addDeserializer(LocalDateTime.class, new JsonDeserializer<>() {
+            @Override
+            public LocalDateTime deserialize(JsonParser parser, DeserializationContext contexto) throws IOException {
+                if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                    return LocalDateTime.ofInstant(Instant.ofEpochMilli(parser.getLongValue()), fuso);
+                }
+                if (parser.currentToken() == JsonToken.VALUE_STRING) {
+                    return LocalDateTime.parse(parser.getText().trim());
+                }
+                return (LocalDateTime) contexto.handleUnexpectedToken(LocalDateTime.class, parser);
+            }
+        });
+        return modulo;
+    }
+}
@@ -0,0 +1,26 @@
+package com.projetochamada.atividade.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projetochamada.atividade.metrics.ConversorJsonMedido;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+@Configuration
+public class MetricasConfig {
+
+    // Faz o @Timed do AtividadeService gerar atividades.service por método
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    // Substitui o conversor JSON do Spring Boot (mesmo ObjectMapper) pela versão que mede a serialização
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   MeterRegistry meterRegistry) {
+        return new ConversorJsonMedido(objectMapper, meterRegistry);
+    }
+}
@@ -1,6 +1,8 @@
 package com.projetochamada.atividade.config;
 
 import com.projetochamada.atividade.security.jwt.JwtAuthenticationFilter; // Importe o filtro JWT
+import com.projetochamada.atividade.security.limite.LimiteRequisicoesFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -20,10 +22,12 @@ import java.util.Collections; // Importe se usar Collections.singletonList ou em
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final LimiteRequisicoesFilter limiteRequisicoesFilter;
 
     // Injeta o filtro JWT que criamos
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthFilter, LimiteRequisicoesFilter limiteRequisicoesFilter) {
         this.jwtAuthFilter = jwtAuthFilter;
+        this.limiteRequisicoesFilter = limiteRequisicoesFilter;
     }
 
     @Bean
@@ -33,11 +37,18 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable()) // Desabilita CSRF para APIs REST sem estado
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)) // Configura sessão sem estado
                 .authorizeHttpRequests(auth -> auth
+                        // Respostas em streaming terminam num dispatch ASYNC; a requisição original já foi autorizada
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .requestMatchers("/auth/**", "/h2-console-atividade/**").permitAll()
                         .requestMatchers("/auth/**", "/h2-console/**").permitAll()
+                        // Health check e scrape do Prometheus; restringir na rede, não por token
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                        // Restauração de arquivamento grava atividades em nome de qualquer professor
+                        .requestMatchers(HttpMethod.POST, "/atividades/restore").hasRole("ADMIN")
                         // PROFESSOR pode criar, editar e excluir
                         .requestMatchers(HttpMethod.POST, "/atividades").hasRole("PROFESSOR")
+                        .requestMatchers(HttpMethod.POST, "/atividades/**").hasRole("PROFESSOR")
                         .requestMatchers(HttpMethod.PUT, "/atividades/**").hasRole("PROFESSOR")
                         .requestMatchers(HttpMethod.DELETE, "/atividades/**").hasRole("PROFESSOR")
                         // ALUNO e PROFESSOR podem visualizar
@@ -47,6 +58,8 @@ public class SecurityConfig {
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                // Limite por usuário e de concorrência; precisa do userId que o filtro JWT coloca na requisição
+                .addFilterAfter(limiteRequisicoesFilter, JwtAuthenticationFilter.class)
                 .headers(headers -> headers.frameOptions(frameOptions -> frameOptions.sameOrigin()));
 
         return http.build();
@@ -57,7 +70,8 @@ public class SecurityConfig {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:4200"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "If-Match", "If-None-Match", "If-Modified-Since", "Last-Event-ID"));
+        configuration.setExposedHeaders(Arrays.asList("ETag", "Last-Modified", "Retry-After")); // Para o front end conseguir ler os validadores
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L); // Tempo máximo em segundos para cachear resultados de preflight
 
@@ -1,24 +1,68 @@
 package com.projetochamada.atividade.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projetochamada.atividade.cache.AtividadeCache;
+import com.projetochamada.atividade.config.FormatosBinariosConfig;
+import com.projetochamada.atividade.dto.AtividadeAlteracoesResponse;
+import com.projetochamada.atividade.dto.AtividadeCacheStatsResponse;
+import com.projetochamada.atividade.dto.AtividadeEstatisticasResponse;
+import com.projetochamada.atividade.dto.AtividadeLoteEdicaoRequest;
 import com.projetochamada.atividade.dto.AtividadeRequest;
 import com.projetochamada.atividade.dto.AtividadeResponse;
+import com.projetochamada.atividade.dto.AtividadeResumoResponse;
+import com.projetochamada.atividade.dto.ResultadoImportacaoResponse;
+import com.projetochamada.atividade.dto.ResultadoLoteResponse;
+import com.projetochamada.atividade.service.ArquivoAtividadesService;
 import com.projetochamada.atividade.service.AtividadeService;
+import com.projetochamada.atividade.service.FormatoArquivo;
+import com.projetochamada.atividade.service.ResultadoEscrita;
+import com.projetochamada.atividade.stream.AtividadeStreamHub;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping("/atividades")
 public class AtividadeController {
 
+    private static final String VIEW_FULL = "full";
+    private static final String VIEW_SUMMARY = "summary";
+
     private final AtividadeService atividadeService;
+    private final ArquivoAtividadesService arquivoService;
+    private final AtividadeCache atividadeCache;
+    private final AtividadeStreamHub streamHub;
+    private final ObjectMapper objectMapper;
 
-    public AtividadeController(AtividadeService atividadeService) {
+    public AtividadeController(AtividadeService atividadeService, ArquivoAtividadesService arquivoService,
+                               AtividadeCache atividadeCache, AtividadeStreamHub streamHub, ObjectMapper objectMapper) {
         this.atividadeService = atividadeService;
+        this.arquivoService = arquivoService;
+        this.atividadeCache = atividadeCache;
+        this.streamHub = streamHub;
+        this.objectMapper = objectMapper;
     }
 
     // POST /atividades
@@ -36,34 +80,261 @@ public class AtividadeController {
         }
     }
 
+    // POST /atividades/batch
+    @PostMapping("/batch")
+    public ResponseEntity<ResultadoLoteResponse> criarAtividadesEmLote(
+            @RequestBody List<AtividadeRequest> requests,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            Long professorId = extractUserIdFromUserDetails(userDetails);
+            return new ResponseEntity<>(ResultadoLoteResponse.de(
+                    atividadeService.criarAtividadesEmLote(requests, professorId)), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // PUT /atividades/batch
+    @PutMapping("/batch")
+    public ResponseEntity<ResultadoLoteResponse> editarAtividadesEmLote(
+            @RequestBody List<AtividadeLoteEdicaoRequest> requests,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            Long professorId = extractUserIdFromUserDetails(userDetails);
+            return new ResponseEntity<>(ResultadoLoteResponse.de(
+                    atividadeService.editarAtividadesEmLote(requests, professorId)), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // DELETE /atividades/batch?ids=1,2,3
+    @DeleteMapping("/batch")
+    public ResponseEntity<ResultadoLoteResponse> excluirAtividadesEmLote(
+            @RequestParam List<Long> ids,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            Long professorId = extractUserIdFromUserDetails(userDetails);
+            return new ResponseEntity<>(ResultadoLoteResponse.de(
+                    atividadeService.excluirAtividadesEmLote(ids, professorId)), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
     // GET /atividades/{id}
+    // ETag = versão da atividade (mais o formato, se for CBOR ou Smile). Com If-None-Match/If-Modified-Since válidos
+    // o Spring responde 304 sem serializar o corpo (que já vem pronto do cache)
     @GetMapping("/{id}")
-    public ResponseEntity<AtividadeResponse> buscarAtividadePorId(@PathVariable Long id) {
+    public ResponseEntity<AtividadeResponse> buscarAtividadePorId(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         return atividadeService.buscarAtividadePorId(id)
-                .map(atividade -> new ResponseEntity<>(atividade, HttpStatus.OK))
+                .map(atividade -> ResponseEntity.ok()
+                        .eTag(etag(atividade.getVersao(), accept))
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .lastModified(ultimaAlteracao(atividade))
+                        .body(atividade))
                 .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
-    // GET /atividades
+    // GET /atividades?after={id}&limit={n} -> página por keyset, ordenada por id. Sem parâmetros é a primeira
+    //     página, com LIMITE_PADRAO itens; a tabela inteira só sai por ?stream=true ou pelo /export
+    // GET /atividades?professorId={id}&entregaDe={data}&entregaAte={data} -> ordenada por prazo;
+    //     próxima página com ?afterEntrega={proximaEntrega}&after={proximoCursor}
+    // ?view=summary devolve só id, titulo, dataEntrega e professorId
+    // O ETag é calculado antes da leitura e sem carregar linhas: se o cliente já tem a versão atual, responde 304
+    // sem montar nenhum DTO. Se algo mudar entre o ETag e a leitura, o pior caso é um 200 a mais depois
+    // Accept: application/cbor ou application/x-jackson-smile devolve a mesma listagem em binário; o ETag muda com
+    // o formato e a resposta leva Vary: Accept para caches intermediários não misturarem as representações
+    // ETag fraco: identifica a versão da listagem, não os bytes. Com ETag forte o Tomcat não comprime a resposta
     @GetMapping
-    public ResponseEntity<List<AtividadeResponse>> listarTodasAtividades() {
-        List<AtividadeResponse> atividades = atividadeService.listarTodasAtividades();
-        return new ResponseEntity<>(atividades, HttpStatus.OK);
+    public ResponseEntity<?> listarTodasAtividades(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long professorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime entregaDe,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime entregaAte,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterEntrega,
+            @RequestParam(defaultValue = VIEW_FULL) String view,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest webRequest,
+            HttpServletResponse response) {
+        boolean resumo = VIEW_SUMMARY.equals(view);
+        String etag = "W/\"" + atividadeService.versaoDasListagens() + "-" + (resumo ? VIEW_SUMMARY : VIEW_FULL)
+                + sufixoDoFormato(accept) + "\"";
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (webRequest.checkNotModified(etag)) {
+            return null; // 304 e cabeçalho ETag já preparados pelo checkNotModified
+        }
+        if (professorId != null || entregaDe != null || entregaAte != null) {
+            return new ResponseEntity<>(resumo
+                    ? atividadeService.listarResumosPorPrazo(professorId, entregaDe, entregaAte, afterEntrega, after, limit)
+                    : atividadeService.listarPorPrazo(professorId, entregaDe, entregaAte, afterEntrega, after, limit), HttpStatus.OK);
+        }
+        return new ResponseEntity<>(resumo
+                ? atividadeService.listarResumosPaginados(after, limit)
+                : atividadeService.listarAtividadesPaginadas(after, limit), HttpStatus.OK);
+    }
+
+    // GET /atividades?stream=true
+    // Escreve o array JSON à medida que as linhas são lidas, sem montar a lista inteira em memória
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> listarTodasAtividadesStream(
+            @RequestParam(defaultValue = VIEW_FULL) String view) {
+        StreamingResponseBody body = VIEW_SUMMARY.equals(view)
+                ? outputStream -> escreverArrayJson(outputStream, atividadeService::percorrerResumos)
+                : outputStream -> escreverArrayJson(outputStream, atividadeService::percorrerTodasAtividades);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    // GET /atividades/export?format=ndjson|csv
+    // Todas as atividades em ordem de id, escritas conforme o cursor avança
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportar(@RequestParam(defaultValue = "ndjson") String format) {
+        FormatoArquivo formato;
+        try {
+            formato = FormatoArquivo.de(format);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+        StreamingResponseBody body = outputStream -> arquivoService.exportar(formato, outputStream);
+        return ResponseEntity.ok()
+                .contentType(formato.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"atividades." + formato.getExtensao() + "\"")
+                .body(body);
+    }
+
+    // POST /atividades/import?format=ndjson|csv
+    // O corpo é o próprio arquivo (curl --data-binary @atividades.ndjson), lido em fluxo sem passar por multipart.
+    // Todas as atividades ficam com o professor do token, qualquer que seja o professorId do arquivo: não serve para
+    // recarregar um arquivamento de vários professores (ver POST /atividades/restore)
+    @PostMapping("/import")
+    public ResponseEntity<ResultadoImportacaoResponse> importar(
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) throws IOException {
+        try {
+            Long professorId = extractUserIdFromUserDetails(userDetails);
+            return new ResponseEntity<>(arquivoService.importar(FormatoArquivo.de(format), request.getInputStream(),
+                    professorId), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // POST /atividades/restore?format=ndjson|csv (ADMIN)
+    // Recarrega um arquivo do GET /atividades/export mantendo o professorId de cada registro; ids são novos
+    @PostMapping("/restore")
+    public ResponseEntity<ResultadoImportacaoResponse> restaurar(
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletRequest request) throws IOException {
+        try {
+            return new ResponseEntity<>(arquivoService.restaurar(FormatoArquivo.de(format), request.getInputStream()),
+                    HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // GET /atividades/proximas?horas={n}
+    @GetMapping("/proximas")
+    public ResponseEntity<List<AtividadeResumoResponse>> listarProximas(
+            @RequestParam(defaultValue = "24") int horas,
+            @RequestParam(required = false) Integer limit) {
+        if (horas <= 0) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(atividadeService.listarProximas(horas, limit), HttpStatus.OK);
+    }
+
+    // GET /atividades/changes?since={cursor}
+    // Sem since devolve a carga inicial. 410 quando o cursor passou da retenção dos tombstones: o cliente descarta
+    // a réplica local e sincroniza de novo sem cursor
+    @GetMapping("/changes")
+    public ResponseEntity<AtividadeAlteracoesResponse> listarAlteracoes(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return atividadeService.listarAlteracoes(since, limit)
+                    .map(alteracoes -> new ResponseEntity<>(alteracoes, HttpStatus.OK))
+                    .orElseGet(() -> new ResponseEntity<>(HttpStatus.GONE));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // GET /atividades/stream?professorId={id}
+    // Eventos criada/atualizada/excluida conforme são confirmados. Na reconexão o EventSource manda o Last-Event-ID
+    // e recebe o que perdeu; se isso já saiu do buffer, recebe um evento "resync" e deve recarregar GET /atividades
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter acompanharAlteracoes(
+            @RequestParam(required = false) Long professorId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        Long ultimoEventoId = null;
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            try {
+                ultimoEventoId = Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                ultimoEventoId = -1L; // Id irreconhecível: força o resync
+            }
+        }
+        return streamHub.assinar(professorId, ultimoEventoId);
+    }
+
+    // GET /atividades/busca?q={termos}
+    @GetMapping("/busca")
+    public ResponseEntity<List<AtividadeResumoResponse>> buscar(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer limit) {
+        if (q == null || q.isBlank()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(atividadeService.buscar(q, limit), HttpStatus.OK);
+    }
+
+    // GET /atividades/estatisticas?professorId={id}
+    // Contagens por professor: atrasadas, vencendo nos próximos 7 dias, depois disso e sem prazo
+    @GetMapping("/estatisticas")
+    public ResponseEntity<AtividadeEstatisticasResponse> estatisticas(@RequestParam(required = false) Long professorId) {
+        return new ResponseEntity<>(atividadeService.estatisticas(professorId), HttpStatus.OK);
+    }
+
+    // GET /atividades/cache/estatisticas
+    @GetMapping("/cache/estatisticas")
+    public ResponseEntity<AtividadeCacheStatsResponse> estatisticasCache() {
+        return new ResponseEntity<>(atividadeCache.estatisticas(), HttpStatus.OK);
     }
 
     // PUT /atividades/{id}
+    // Com If-Match o UPDATE só acontece se a versão informada ainda for a atual; senão responde 412
     @PutMapping("/{id}")
     public ResponseEntity<AtividadeResponse> editarAtividade(
             @PathVariable Long id,
             @RequestBody AtividadeRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
             @AuthenticationPrincipal UserDetails userDetails) {
         try {
             Long professorId = extractUserIdFromUserDetails(userDetails); // Implementar este método
-            return atividadeService.editarAtividade(id, request, professorId)
-                    .map(atividade -> new ResponseEntity<>(atividade, HttpStatus.OK))
-                    .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+            Long versaoEsperada = versaoDoIfMatch(ifMatch);
+            ResultadoEscrita resultado = atividadeService.editarAtividade(id, request, professorId, versaoEsperada);
+            return switch (resultado.getStatus()) {
+                case SUCESSO -> ResponseEntity.ok()
+                        .eTag(etag(resultado.getAtividade().getVersao(), accept))
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .body(resultado.getAtividade());
+                case NAO_ENCONTRADA -> new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                case SEM_PERMISSAO -> new ResponseEntity("Você não tem permissão para editar esta atividade.", HttpStatus.FORBIDDEN);
+                case CONFLITO -> new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
+            };
+        } catch (NumberFormatException e) {
+            // If-Match que não é um ETag emitido por este serviço nunca corresponde à versão atual
+            return new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
         } catch (RuntimeException e) {
-            return new ResponseEntity(e.getMessage(), HttpStatus.FORBIDDEN); // Ou BAD_REQUEST
+            return new ResponseEntity(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
     }
 
@@ -72,15 +343,75 @@ public class AtividadeController {
     public ResponseEntity<Void> excluirAtividade(
             @PathVariable Long id,
             @AuthenticationPrincipal UserDetails userDetails) {
-        try {
-            Long professorId = extractUserIdFromUserDetails(userDetails);
-            if (atividadeService.excluirAtividade(id, professorId)) {
-                return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        Long professorId = extractUserIdFromUserDetails(userDetails);
+        return switch (atividadeService.excluirAtividade(id, professorId).getStatus()) {
+            case SUCESSO -> new ResponseEntity<>(HttpStatus.NO_CONTENT);
+            case NAO_ENCONTRADA -> new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            case SEM_PERMISSAO -> new ResponseEntity<>(HttpStatus.FORBIDDEN);
+            case CONFLITO -> new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
+        };
+    }
+
+    // O tipo de maior q entre JSON, CBOR e Smile decide, como na negociação do Spring (*/* fica com JSON)
+    private static String sufixoDoFormato(String accept) {
+        if (accept == null) {
+            return "";
+        }
+        List<MediaType> aceitos = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        aceitos.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType tipo : aceitos) {
+            if (tipo.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return "";
             }
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-        } catch (RuntimeException e) {
-            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+            if (tipo.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return "-cbor";
+            }
+            if (tipo.isCompatibleWith(FormatosBinariosConfig.APPLICATION_SMILE)) {
+                return "-smile";
+            }
+        }
+        return "";
+    }
+
+    // Cada formato é uma representação diferente da mesma versão, então o ETag também muda com ele
+    private static String etag(Long versao, String accept) {
+        return "\"" + versao + sufixoDoFormato(accept) + "\"";
+    }
+
+    // "*" (ou ausente) aceita qualquer versão; "W/" e o sufixo do formato são ignorados porque a versão identifica
+    // o conteúdo
+    private static Long versaoDoIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String valor = ifMatch.trim();
+        if (valor.startsWith("W/")) {
+            valor = valor.substring(2);
         }
+        valor = valor.replace("\"", "");
+        int formato = valor.indexOf('-');
+        return Long.valueOf(formato < 0 ? valor : valor.substring(0, formato));
+    }
+
+    private static ZonedDateTime ultimaAlteracao(AtividadeResponse atividade) {
+        LocalDateTime data = atividade.getDataAtualizacao() != null
+                ? atividade.getDataAtualizacao()
+                : atividade.getDataCriacao();
+        return data.atZone(ZoneId.systemDefault());
+    }
+
+    private <T> void escreverArrayJson(OutputStream outputStream, Consumer<Consumer<T>> percorrer) throws IOException {
+        JsonGenerator generator = objectMapper.createGenerator(outputStream);
+        generator.writeStartArray();
+        percorrer.accept(item -> {
+            try {
+                generator.writeObject(item);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        generator.writeEndArray();
+        generator.flush();
     }
 
     private Long extractUserIdFromUserDetails(UserDetails userDetails) {
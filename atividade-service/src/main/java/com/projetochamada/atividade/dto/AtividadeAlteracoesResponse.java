@@ -0,0 +1,19 @@
+package com.projetochamada.atividade.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Resposta de GET /atividades/changes: o cliente aplica as atividades (inserir ou substituir pelo id), remove as
+// excluídas e guarda o cursor para a próxima chamada. Com temMais, chama de novo na hora com o cursor recebido
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AtividadeAlteracoesResponse {
+    private List<AtividadeResponse> atividades;
+    private List<Long> excluidas;
+    private String cursor;
+    private boolean temMais;
+}
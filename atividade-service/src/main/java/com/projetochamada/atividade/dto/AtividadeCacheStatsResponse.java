@@ -0,0 +1,16 @@
+package com.projetochamada.atividade.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AtividadeCacheStatsResponse {
+    private long hits;
+    private long misses;
+    private long evictions;
+    private double hitRate;
+    private long tamanho;
+}
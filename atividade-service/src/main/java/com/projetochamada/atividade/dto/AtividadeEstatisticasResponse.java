@@ -0,0 +1,18 @@
+package com.projetochamada.atividade.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AtividadeEstatisticasResponse {
+    private ContagemPrazoResponse geral;
+    private List<ContagemPrazoResponse> professores;
+    // Instante da última rolagem das faixas: atividades que venceram depois disso ainda podem contar como próximas
+    private LocalDateTime referencia;
+}
@@ -0,0 +1,19 @@
+package com.projetochamada.atividade.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.projetochamada.atividade.event.AtividadeAlteradaEvent;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Corpo de cada evento de GET /atividades/stream. O número de sequência vai no campo "id" do próprio SSE
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AtividadeEventoResponse {
+    private AtividadeAlteradaEvent.Tipo tipo;
+    private Long id;
+    private Long professorId;
+    private AtividadeResponse atividade; // Ausente quando EXCLUIDA
+}
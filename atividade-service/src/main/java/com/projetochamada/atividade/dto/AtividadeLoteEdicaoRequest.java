@@ -0,0 +1,17 @@
+package com.projetochamada.atividade.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AtividadeLoteEdicaoRequest {
+    private Long id;
+    private String titulo;
+    private String descricao;
+    private LocalDateTime dataEntrega;
+}
@@ -0,0 +1,25 @@
+package com.projetochamada.atividade.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AtividadePageResponse<T> {
+    private List<T> itens;
+    // Último id da página; null quando não há mais itens. Deve ser enviado como ?after= na próxima chamada
+    private Long proximoCursor;
+    // Só nas listagens ordenadas por prazo: dataEntrega do último item, enviada como ?afterEntrega=
+    private LocalDateTime proximaEntrega;
+
+    public AtividadePageResponse(List<T> itens, Long proximoCursor) {
+        this(itens, proximoCursor, null);
+    }
+}
@@ -16,4 +16,6 @@ public class AtividadeResponse {
     private LocalDateTime dataCriacao;
     private LocalDateTime dataEntrega;
     private Long professorId;
+    private LocalDateTime dataAtualizacao;
+    private Long versao;
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.projetochamada.atividade.dto;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+// Visão compacta usada nas listagens (?view=summary): sem a descricao, que é a coluna TEXT.
+// Montada direto pelo construtor na consulta JPQL, sem passar por uma entidade gerenciada
+@Value
+public class AtividadeResumoResponse {
+    Long id;
+    String titulo;
+    LocalDateTime dataEntrega;
+    Long professorId;
+}
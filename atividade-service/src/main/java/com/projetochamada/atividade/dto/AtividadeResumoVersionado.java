@@ -0,0 +1,19 @@
+package com.projetochamada.atividade.dto;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// Resumo com a versão da linha, para a carga inicial dos índices em memória (não sai na API).
+// Montado direto pelo construtor na consulta JPQL, como o AtividadeResumoResponse
+@Getter
+public class AtividadeResumoVersionado {
+
+    private final AtividadeResumoResponse resumo;
+    private final Long versao;
+
+    public AtividadeResumoVersionado(Long id, String titulo, LocalDateTime dataEntrega, Long professorId, Long versao) {
+        this.resumo = new AtividadeResumoResponse(id, titulo, dataEntrega, professorId);
+        this.versao = versao;
+    }
+}
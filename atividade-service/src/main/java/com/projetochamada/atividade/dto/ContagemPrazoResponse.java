@@ -0,0 +1,20 @@
+package com.projetochamada.atividade.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Contagem de atividades por faixa de prazo; professorId fica de fora na contagem geral
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ContagemPrazoResponse {
+    private Long professorId;
+    private Long total;
+    private Long atrasadas;
+    private Long proximos7Dias;
+    private Long depois;
+    private Long semPrazo;
+}
@@ -0,0 +1,19 @@
+package com.projetochamada.atividade.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Resumo de POST /atividades/import. erros traz só os primeiros registros rejeitados, com o número do registro no arquivo
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoImportacaoResponse {
+    private long importadas;
+    private long rejeitadas;
+    private List<String> erros;
+    private double segundos;
+    private long linhasPorSegundo;
+}
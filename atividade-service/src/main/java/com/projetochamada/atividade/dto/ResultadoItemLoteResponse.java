@@ -0,0 +1,33 @@
+package com.projetochamada.atividade.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ResultadoItemLoteResponse {
+
+    public enum Status { CRIADA, ATUALIZADA, EXCLUIDA, INVALIDA, NAO_ENCONTRADA, SEM_PERMISSAO }
+
+    private int indice; // Posição do item na requisição
+    private Long id;
+    private Status status;
+    private String mensagem;
+    private AtividadeResponse atividade;
+
+    public boolean isSucesso() {
+        return status == Status.CRIADA || status == Status.ATUALIZADA || status == Status.EXCLUIDA;
+    }
+
+    public static ResultadoItemLoteResponse sucesso(int indice, Status status, AtividadeResponse atividade) {
+        return new ResultadoItemLoteResponse(indice, atividade.getId(), status, null, atividade);
+    }
+
+    public static ResultadoItemLoteResponse falha(int indice, Long id, Status status, String mensagem) {
+        return new ResultadoItemLoteResponse(indice, id, status, mensagem, null);
+    }
+}
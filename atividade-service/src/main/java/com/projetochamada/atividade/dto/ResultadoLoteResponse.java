@@ -0,0 +1,21 @@
+package com.projetochamada.atividade.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoLoteResponse {
+    private int sucessos;
+    private int falhas;
+    private List<ResultadoItemLoteResponse> itens;
+
+    public static ResultadoLoteResponse de(List<ResultadoItemLoteResponse> itens) {
+        int sucessos = (int) itens.stream().filter(ResultadoItemLoteResponse::isSucesso).count();
+        return new ResultadoLoteResponse(sucessos, itens.size() - sucessos, itens);
+    }
+}
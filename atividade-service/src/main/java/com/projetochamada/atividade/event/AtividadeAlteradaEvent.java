@@ -0,0 +1,34 @@
+package com.projetochamada.atividade.event;
+
+import com.projetochamada.atividade.dto.AtividadeResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Publicado pelo AtividadeService a cada escrita. Os consumidores escutam com
+// @TransactionalEventListener(AFTER_COMMIT), então só enxergam alterações já confirmadas
+@Getter
+@AllArgsConstructor
+public class AtividadeAlteradaEvent {
+
+    public enum Tipo { CRIADA, ATUALIZADA, EXCLUIDA }
+
+    private final Tipo tipo;
+    private final Long id;
+    private final Long professorId;
+    private final Long versao; // Versão após a alteração, inclusive na exclusão
+    private final AtividadeResponse atividade; // Estado após a alteração; null quando EXCLUIDA
+
+    public static AtividadeAlteradaEvent criada(AtividadeResponse atividade) {
+        return new AtividadeAlteradaEvent(Tipo.CRIADA, atividade.getId(), atividade.getProfessorId(),
+                atividade.getVersao(), atividade);
+    }
+
+    public static AtividadeAlteradaEvent atualizada(AtividadeResponse atividade) {
+        return new AtividadeAlteradaEvent(Tipo.ATUALIZADA, atividade.getId(), atividade.getProfessorId(),
+                atividade.getVersao(), atividade);
+    }
+
+    public static AtividadeAlteradaEvent excluida(Long id, Long professorId, Long versao) {
+        return new AtividadeAlteradaEvent(Tipo.EXCLUIDA, id, professorId, versao, null);
+    }
+}
@@ -0,0 +1,169 @@
+package com.projetochamada.atividade.index;
+
+import com.projetochamada.atividade.dto.AtividadeResponse;
+import com.projetochamada.atividade.dto.AtividadeResumoResponse;
+import com.projetochamada.atividade.event.AtividadeAlteradaEvent;
+import com.projetochamada.atividade.repository.AtividadeRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// Índice invertido em memória sobre titulo e descricao, com ranking BM25.
+// Reconstruído a partir do banco na subida e mantido pelos eventos do AtividadeService depois do commit.
+// Eager pelo mesmo motivo do PrazoIndex
+@Component
+@Lazy(false)
+public class BuscaIndex implements SmartInitializingSingleton {
+
+    // Termos do título contam como se aparecessem várias vezes no texto
+    private static final int PESO_TITULO = 3;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private record Documento(AtividadeResumoResponse resumo, Map<String, Integer> frequencias, int comprimento) {
+    }
+
+    // termo -> (id da atividade -> frequência ponderada do termo)
+    private final ConcurrentHashMap<String, ConcurrentHashMap<Long, Integer>> postings = new ConcurrentHashMap<>();
+    // Só os documentos indexados contam no BM25; os tombstones do registro não entram em tamanho()
+    private final RegistroVersionado<Documento> documentos = new RegistroVersionado<>();
+    private final AtomicLong comprimentoTotal = new AtomicLong();
+
+    private final AtividadeRepository atividadeRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public BuscaIndex(AtividadeRepository atividadeRepository, PlatformTransactionManager transactionManager) {
+        this.atividadeRepository = atividadeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    // Carga inicial antes de o servidor aceitar requisições
+    @Override
+    public void afterSingletonsInstantiated() {
+        reconstruir();
+    }
+
+    public void reconstruir() {
+        postings.clear();
+        documentos.limpar();
+        comprimentoTotal.set(0);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<AtividadeResponse> atividades = atividadeRepository.streamRespostas()) {
+                atividades.forEach(this::indexar);
+            }
+        });
+    }
+
+    // Os limite resultados mais relevantes para a consulta, do mais para o menos relevante
+    public List<AtividadeResumoResponse> buscar(String consulta, int limite) {
+        List<String> termos = TokenizadorPortugues.tokenizar(consulta);
+        int totalDocumentos = documentos.tamanho();
+        if (termos.isEmpty() || totalDocumentos == 0) {
+            return Collections.emptyList();
+        }
+        double comprimentoMedio = Math.max(1.0, (double) comprimentoTotal.get() / totalDocumentos);
+
+        Map<Long, Double> pontuacoes = new HashMap<>();
+        for (String termo : termos.stream().distinct().toList()) {
+            Map<Long, Integer> ocorrencias = postings.get(termo);
+            if (ocorrencias == null) {
+                continue;
+            }
+            double idf = Math.log(1 + (totalDocumentos - ocorrencias.size() + 0.5) / (ocorrencias.size() + 0.5));
+            ocorrencias.forEach((id, frequencia) -> {
+                Documento documento = documentos.valor(id);
+                if (documento == null) {
+                    return; // Removido entre a leitura do posting e a do documento
+                }
+                double normalizacao = K1 * (1 - B + B * documento.comprimento() / comprimentoMedio);
+                pontuacoes.merge(id, idf * frequencia * (K1 + 1) / (frequencia + normalizacao), Double::sum);
+            });
+        }
+
+        // Heap mínimo com os limite melhores: O(n log k) em vez de ordenar todos os candidatos
+        PriorityQueue<Map.Entry<Long, Double>> melhores = new PriorityQueue<>(limite + 1, Map.Entry.comparingByValue());
+        for (Map.Entry<Long, Double> pontuacao : pontuacoes.entrySet()) {
+            melhores.offer(pontuacao);
+            if (melhores.size() > limite) {
+                melhores.poll();
+            }
+        }
+
+        List<AtividadeResumoResponse> resultado = new ArrayList<>(melhores.size());
+        while (!melhores.isEmpty()) {
+            Documento documento = documentos.valor(melhores.poll().getKey());
+            if (documento != null) {
+                resultado.add(documento.resumo());
+            }
+        }
+        Collections.reverse(resultado);
+        return resultado;
+    }
+
+    public int tamanho() {
+        return documentos.tamanho();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void aoAlterarAtividade(AtividadeAlteradaEvent evento) {
+        if (evento.getTipo() == AtividadeAlteradaEvent.Tipo.EXCLUIDA) {
+            documentos.excluir(evento.getId(), evento.getVersao(), documento -> removerPostings(evento.getId(), documento));
+        } else {
+            indexar(evento.getAtividade());
+        }
+    }
+
+    // Os postings antigos saem antes de os novos entrarem, dentro da alteração do próprio id no registro, então duas
+    // alterações da mesma atividade não se misturam
+    public void indexar(AtividadeResponse atividade) {
+        Long id = atividade.getId();
+        documentos.aplicar(id, atividade.getVersao(), anterior -> {
+            if (anterior != null) {
+                removerPostings(id, anterior);
+            }
+
+            Map<String, Integer> frequencias = new HashMap<>();
+            for (String termo : TokenizadorPortugues.tokenizar(atividade.getTitulo())) {
+                frequencias.merge(termo, PESO_TITULO, Integer::sum);
+            }
+            List<String> termosDescricao = TokenizadorPortugues.tokenizar(atividade.getDescricao());
+            for (String termo : termosDescricao) {
+                frequencias.merge(termo, 1, Integer::sum);
+            }
+            frequencias.forEach((termo, frequencia) -> postings.compute(termo, (t, ocorrencias) -> {
+                ConcurrentHashMap<Long, Integer> mapa = ocorrencias == null ? new ConcurrentHashMap<>() : ocorrencias;
+                mapa.put(id, frequencia);
+                return mapa;
+            }));
+
+            int comprimento = frequencias.values().stream().mapToInt(Integer::intValue).sum();
+            comprimentoTotal.addAndGet(comprimento);
+            AtividadeResumoResponse resumo = new AtividadeResumoResponse(id, atividade.getTitulo(),
+                    atividade.getDataEntrega(), atividade.getProfessorId());
+            return new Documento(resumo, frequencias, comprimento);
+        });
+    }
+
+    private void removerPostings(Long id, Documento documento) {
+        documento.frequencias().keySet().forEach(termo -> postings.computeIfPresent(termo, (t, ocorrencias) -> {
+            ocorrencias.remove(id);
+            return ocorrencias.isEmpty() ? null : ocorrencias;
+        }));
+        comprimentoTotal.addAndGet(-documento.comprimento());
+    }
+}
@@ -0,0 +1,259 @@
+package com.projetochamada.atividade.index;
+
+import com.projetochamada.atividade.dto.AtividadeEstatisticasResponse;
+import com.projetochamada.atividade.dto.AtividadeResponse;
+import com.projetochamada.atividade.dto.AtividadeResumoResponse;
+import com.projetochamada.atividade.dto.AtividadeResumoVersionado;
+import com.projetochamada.atividade.dto.ContagemPrazoResponse;
+import com.projetochamada.atividade.event.AtividadeAlteradaEvent;
+import com.projetochamada.atividade.repository.AtividadeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+// Contagens de GET /atividades/estatisticas: por professor e por faixa de prazo (atrasadas, próximos 7 dias,
+// depois, sem prazo). Carregadas uma vez na subida e mantidas pelos eventos depois do commit, então a leitura de
+// um professor custa o mesmo com 100 ou 10 milhões de linhas. As faixas andam com o relógio: rolarFaixas move as
+// atividades cujo prazo cruzou uma fronteira desde a última execução
+@Component
+@Lazy(false)
+public class EstatisticasIndex implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(EstatisticasIndex.class);
+
+    static final Duration SEMANA = Duration.ofDays(7);
+
+    enum Faixa { ATRASADA, PROXIMOS_7_DIAS, DEPOIS, SEM_PRAZO }
+
+    private record Chave(LocalDateTime dataEntrega, long id) {
+        static final Comparator<Chave> ORDEM = Comparator.comparing(Chave::dataEntrega).thenComparingLong(Chave::id);
+    }
+
+    private record Entrada(Long professorId, LocalDateTime dataEntrega, Faixa faixa) {
+    }
+
+    // LongAdder em vez de AtomicLong: escritas simultâneas do mesmo professor somam em células separadas
+    private static final class Contadores {
+        private final LongAdder[] porFaixa = new LongAdder[Faixa.values().length];
+
+        Contadores() {
+            for (int i = 0; i < porFaixa.length; i++) {
+                porFaixa[i] = new LongAdder();
+            }
+        }
+
+        void somar(Faixa faixa, long delta) {
+            porFaixa[faixa.ordinal()].add(delta);
+        }
+
+        ContagemPrazoResponse contagem(Long professorId) {
+            long atrasadas = porFaixa[Faixa.ATRASADA.ordinal()].sum();
+            long semana = porFaixa[Faixa.PROXIMOS_7_DIAS.ordinal()].sum();
+            long depois = porFaixa[Faixa.DEPOIS.ordinal()].sum();
+            long semPrazo = porFaixa[Faixa.SEM_PRAZO.ordinal()].sum();
+            return new ContagemPrazoResponse(professorId, atrasadas + semana + depois + semPrazo,
+                    atrasadas, semana, depois, semPrazo);
+        }
+    }
+
+    // A faixa de cada atividade é guardada para desfazer a contagem antiga: os eventos só trazem o estado novo
+    private final RegistroVersionado<Entrada> entradaPorId = new RegistroVersionado<>();
+    private final ConcurrentHashMap<Long, Contadores> porProfessor = new ConcurrentHashMap<>();
+    private final Contadores geral = new Contadores();
+
+    // Atividades das duas faixas que mudam com o tempo, em ordem de prazo: a rolagem só lê o começo de cada uma
+    private final ConcurrentSkipListSet<Chave> proximas = new ConcurrentSkipListSet<>(Chave.ORDEM);
+    private final ConcurrentSkipListSet<Chave> futuras = new ConcurrentSkipListSet<>(Chave.ORDEM);
+    private volatile LocalDateTime referencia;
+
+    private final AtividadeRepository atividadeRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public EstatisticasIndex(AtividadeRepository atividadeRepository, PlatformTransactionManager transactionManager) {
+        this.atividadeRepository = atividadeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    // Carga inicial antes de o servidor aceitar requisições (eager pelo mesmo motivo do PrazoIndex)
+    @Override
+    public void afterSingletonsInstantiated() {
+        LocalDateTime agora = LocalDateTime.now();
+        referencia = agora;
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<AtividadeResumoVersionado> resumos = atividadeRepository.streamResumosVersionados()) {
+                resumos.forEach(versionado -> {
+                    AtividadeResumoResponse resumo = versionado.getResumo();
+                    atualizar(resumo.getId(), resumo.getProfessorId(), resumo.getDataEntrega(), versionado.getVersao(), agora);
+                });
+            }
+        });
+    }
+
+    // Sem professorId devolve todos os professores com atividades; com ele, só o próprio
+    public AtividadeEstatisticasResponse estatisticas(Long professorId) {
+        List<ContagemPrazoResponse> professores = new ArrayList<>();
+        if (professorId != null) {
+            Contadores contadores = porProfessor.get(professorId);
+            professores.add(contadores == null
+                    ? new ContagemPrazoResponse(professorId, 0L, 0L, 0L, 0L, 0L)
+                    : contadores.contagem(professorId));
+        } else {
+            porProfessor.forEach((id, contadores) -> {
+                ContagemPrazoResponse contagem = contadores.contagem(id);
+                if (contagem.getTotal() > 0) {
+                    professores.add(contagem);
+                }
+            });
+            professores.sort(Comparator.comparing(ContagemPrazoResponse::getProfessorId));
+        }
+        return new AtividadeEstatisticasResponse(geral.contagem(null), professores, referencia);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void aoAlterarAtividade(AtividadeAlteradaEvent evento) {
+        if (evento.getTipo() == AtividadeAlteradaEvent.Tipo.EXCLUIDA) {
+            entradaPorId.excluir(evento.getId(), evento.getVersao(), atual -> sair(evento.getId(), atual));
+            return;
+        }
+        AtividadeResponse atividade = evento.getAtividade();
+        atualizar(atividade.getId(), atividade.getProfessorId(), atividade.getDataEntrega(), evento.getVersao(),
+                LocalDateTime.now());
+    }
+
+    // Cada execução só toca as atividades que mudaram de faixa desde a anterior. Entre duas execuções uma atividade
+    // vencida ainda pode aparecer em proximos7Dias (o campo referencia diz desde quando)
+    @Scheduled(fixedDelayString = "${atividades.estatisticas.rolagem-intervalo:PT1M}")
+    public void rolarFaixas() {
+        rolar(LocalDateTime.now());
+    }
+
+    // Compara as contagens em memória com um GROUP BY no banco. Escritas confirmadas durante a verificação podem
+    // gerar uma divergência passageira; uma divergência que se repete indica evento perdido. Devolve quantos
+    // professores divergiram
+    @Scheduled(fixedDelayString = "${atividades.estatisticas.reconciliacao-intervalo:PT1H}",
+            initialDelayString = "${atividades.estatisticas.reconciliacao-intervalo:PT1H}")
+    public int reconciliar() {
+        LocalDateTime agora = LocalDateTime.now();
+        rolar(agora);
+        List<ContagemPrazoResponse> banco = transactionTemplate.execute(status ->
+                atividadeRepository.contarPorProfessorEPrazo(agora, agora.plus(SEMANA)));
+
+        Map<Long, ContagemPrazoResponse> memoria = new HashMap<>();
+        porProfessor.forEach((id, contadores) -> memoria.put(id, contadores.contagem(id)));
+        int divergencias = 0;
+        for (ContagemPrazoResponse esperado : banco) {
+            ContagemPrazoResponse atual = memoria.remove(esperado.getProfessorId());
+            if (!Objects.equals(esperado, atual)) {
+                divergencias++;
+                log.warn("Estatísticas divergentes do professor {}: banco {}, memória {}",
+                        esperado.getProfessorId(), esperado, atual);
+            }
+        }
+        for (ContagemPrazoResponse sobra : memoria.values()) {
+            if (sobra.getTotal() != 0) {
+                divergencias++;
+                log.warn("Estatísticas divergentes do professor {}: banco sem atividades, memória {}",
+                        sobra.getProfessorId(), sobra);
+            }
+        }
+        if (divergencias == 0) {
+            log.info("Estatísticas conferidas com o banco: {} professores", banco.size());
+        }
+        return divergencias;
+    }
+
+    void rolar(LocalDateTime agora) {
+        reclassificarAntesDe(proximas, agora, agora);
+        reclassificarAntesDe(futuras, agora.plus(SEMANA), agora);
+        referencia = agora;
+    }
+
+    // As chaves são copiadas antes de mexer no conjunto; cada mudança acontece dentro da alteração da própria
+    // atividade no registro, que ignora as que saíram do índice depois da cópia
+    private void reclassificarAntesDe(ConcurrentSkipListSet<Chave> conjunto, LocalDateTime limite, LocalDateTime agora) {
+        List<Chave> vencidas = new ArrayList<>(conjunto.headSet(new Chave(limite, Long.MIN_VALUE)));
+        for (Chave chave : vencidas) {
+            entradaPorId.alterar(chave.id(), atual -> {
+                Faixa faixa = faixa(atual.dataEntrega(), agora);
+                if (faixa == atual.faixa()) {
+                    return atual;
+                }
+                sair(chave.id(), atual);
+                Entrada nova = new Entrada(atual.professorId(), atual.dataEntrega(), faixa);
+                entrar(chave.id(), nova);
+                return nova;
+            });
+        }
+    }
+
+    // A alteração roda dentro da entrada da própria atividade no registro: contadores e conjuntos de uma atividade
+    // nunca ficam com duas faixas ao mesmo tempo
+    private void atualizar(Long id, Long professorId, LocalDateTime dataEntrega, Long versao, LocalDateTime agora) {
+        entradaPorId.aplicar(id, versao, anterior -> {
+            if (anterior != null) {
+                sair(id, anterior);
+            }
+            Entrada nova = new Entrada(professorId, dataEntrega, faixa(dataEntrega, agora));
+            entrar(id, nova);
+            return nova;
+        });
+    }
+
+    private void entrar(Long id, Entrada entrada) {
+        porProfessor.computeIfAbsent(entrada.professorId(), chave -> new Contadores()).somar(entrada.faixa(), 1);
+        geral.somar(entrada.faixa(), 1);
+        ConcurrentSkipListSet<Chave> conjunto = conjunto(entrada.faixa());
+        if (conjunto != null) {
+            conjunto.add(new Chave(entrada.dataEntrega(), id));
+        }
+    }
+
+    private void sair(Long id, Entrada entrada) {
+        porProfessor.get(entrada.professorId()).somar(entrada.faixa(), -1);
+        geral.somar(entrada.faixa(), -1);
+        ConcurrentSkipListSet<Chave> conjunto = conjunto(entrada.faixa());
+        if (conjunto != null) {
+            conjunto.remove(new Chave(entrada.dataEntrega(), id));
+        }
+    }
+
+    // Atrasadas e sem prazo não mudam mais de faixa com o tempo, então não precisam de conjunto
+    private ConcurrentSkipListSet<Chave> conjunto(Faixa faixa) {
+        return switch (faixa) {
+            case PROXIMOS_7_DIAS -> proximas;
+            case DEPOIS -> futuras;
+            default -> null;
+        };
+    }
+
+    static Faixa faixa(LocalDateTime dataEntrega, LocalDateTime agora) {
+        if (dataEntrega == null) {
+            return Faixa.SEM_PRAZO;
+        }
+        if (dataEntrega.isBefore(agora)) {
+            return Faixa.ATRASADA;
+        }
+        return dataEntrega.isBefore(agora.plus(SEMANA)) ? Faixa.PROXIMOS_7_DIAS : Faixa.DEPOIS;
+    }
+}
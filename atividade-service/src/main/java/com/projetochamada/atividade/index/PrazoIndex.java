@@ -0,0 +1,103 @@
+package com.projetochamada.atividade.index;
+
+import com.projetochamada.atividade.dto.AtividadeResponse;
+import com.projetochamada.atividade.dto.AtividadeResumoResponse;
+import com.projetochamada.atividade.dto.AtividadeResumoVersionado;
+import com.projetochamada.atividade.event.AtividadeAlteradaEvent;
+import com.projetochamada.atividade.repository.AtividadeRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+// Índice em memória das atividades com prazo, ordenado por (dataEntrega, id).
+// Leituras por faixa de prazo percorrem a skip list sem lock e sem ir ao banco; as escritas chegam
+// pelos eventos do AtividadeService depois do commit (fora de ordem resolvido pelo RegistroVersionado).
+// Eager mesmo com lazy-initialization: um bean lazy nunca receberia o afterSingletonsInstantiated e o índice
+// ficaria vazio
+@Component
+@Lazy(false)
+public class PrazoIndex implements SmartInitializingSingleton {
+
+    private record Chave(LocalDateTime dataEntrega, long id) {
+        static final Comparator<Chave> ORDEM = Comparator.comparing(Chave::dataEntrega).thenComparingLong(Chave::id);
+    }
+
+    private final ConcurrentSkipListMap<Chave, AtividadeResumoResponse> porPrazo = new ConcurrentSkipListMap<>(Chave.ORDEM);
+    // Chave de cada atividade na skip list, com a versão que a colocou lá
+    private final RegistroVersionado<Chave> chavePorId = new RegistroVersionado<>();
+
+    private final AtividadeRepository atividadeRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public PrazoIndex(AtividadeRepository atividadeRepository, PlatformTransactionManager transactionManager) {
+        this.atividadeRepository = atividadeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    // Carga inicial antes de o servidor aceitar requisições
+    @Override
+    public void afterSingletonsInstantiated() {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<AtividadeResumoVersionado> resumos = atividadeRepository.streamResumosVersionadosComPrazo()) {
+                resumos.forEach(resumo -> atualizar(resumo.getResumo(), resumo.getVersao()));
+            }
+        });
+    }
+
+    // Atividades com prazo em [de, ate], em ordem de prazo
+    public List<AtividadeResumoResponse> buscarPorPrazo(LocalDateTime de, LocalDateTime ate, int limite) {
+        List<AtividadeResumoResponse> resultado = new ArrayList<>(Math.min(limite, 64));
+        for (AtividadeResumoResponse resumo : porPrazo
+                .subMap(new Chave(de, Long.MIN_VALUE), true, new Chave(ate, Long.MAX_VALUE), true)
+                .values()) {
+            if (resultado.size() == limite) {
+                break;
+            }
+            resultado.add(resumo);
+        }
+        return resultado;
+    }
+
+    public int tamanho() {
+        return porPrazo.size();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void aoAlterarAtividade(AtividadeAlteradaEvent evento) {
+        if (evento.getTipo() == AtividadeAlteradaEvent.Tipo.EXCLUIDA) {
+            chavePorId.excluir(evento.getId(), evento.getVersao(), porPrazo::remove);
+            return;
+        }
+        AtividadeResponse atividade = evento.getAtividade();
+        atualizar(new AtividadeResumoResponse(atividade.getId(), atividade.getTitulo(),
+                atividade.getDataEntrega(), atividade.getProfessorId()), evento.getVersao());
+    }
+
+    // A chave antiga sai antes de a nova entrar, então uma atividade nunca aparece duas vezes na skip list.
+    // Sem prazo a atividade sai do índice
+    private void atualizar(AtividadeResumoResponse resumo, Long versao) {
+        chavePorId.aplicar(resumo.getId(), versao, anterior -> {
+            if (anterior != null) {
+                porPrazo.remove(anterior);
+            }
+            if (resumo.getDataEntrega() == null) {
+                return null;
+            }
+            Chave chave = new Chave(resumo.getDataEntrega(), resumo.getId());
+            porPrazo.put(chave, resumo);
+            return chave;
+        });
+    }
+}
@@ -0,0 +1,128 @@
+package com.projetochamada.atividade.index;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.UnaryOperator;
+
+// O que um índice em memória guarda de cada atividade, junto com a versão da linha que produziu esse estado.
+// Os eventos chegam depois do commit e, com commits concorrentes, podem chegar fora de ordem: uma alteração com
+// versão mais antiga que a registrada é descartada. A exclusão deixa um tombstone com a versão dela para que um
+// evento atrasado não traga a atividade de volta. Esse atraso é de milissegundos, então o tombstone é descartado
+// depois de RETENCAO_EXCLUSAO (na próxima escrita, sem agendamento).
+// Cada alteração roda dentro do compute do próprio id: o índice atualiza as suas estruturas ali sem que duas
+// alterações da mesma atividade se misturem
+final class RegistroVersionado<V> {
+
+    static final Duration RETENCAO_EXCLUSAO = Duration.ofMinutes(10);
+
+    // valor null: excluída ou, quando não é tombstone, viva mas fora do índice (ex.: sem prazo no PrazoIndex)
+    private record Entrada<V>(V valor, long versao, boolean excluida) {
+    }
+
+    private record Exclusao(Long id, long versao, long instante) {
+    }
+
+    private final ConcurrentHashMap<Long, Entrada<V>> entradas = new ConcurrentHashMap<>();
+    // Tombstones em ordem de criação: o descarte só olha o começo da fila
+    private final ConcurrentLinkedQueue<Exclusao> exclusoes = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger comValor = new AtomicInteger();
+    private final LongSupplier relogioNanos;
+    private final long retencaoNanos;
+
+    RegistroVersionado() {
+        this(System::nanoTime, RETENCAO_EXCLUSAO);
+    }
+
+    RegistroVersionado(LongSupplier relogioNanos, Duration retencao) {
+        this.relogioNanos = relogioNanos;
+        this.retencaoNanos = retencao.toNanos();
+    }
+
+    // Aplica a alteração, a menos que já exista uma versão mais nova (viva ou excluída). alteracao recebe o valor
+    // atual (null se não houver) e devolve o novo (null: a atividade fica fora do índice, mas a versão é guardada)
+    void aplicar(Long id, Long versao, UnaryOperator<V> alteracao) {
+        long nova = versao(versao);
+        entradas.compute(id, (chave, atual) -> {
+            if (atual != null && atual.versao() > nova) {
+                return atual;
+            }
+            V anterior = atual == null ? null : atual.valor();
+            V valor = alteracao.apply(anterior);
+            if (anterior == null && valor != null) {
+                comValor.incrementAndGet();
+            } else if (anterior != null && valor == null) {
+                comValor.decrementAndGet();
+            }
+            return new Entrada<>(valor, nova, false);
+        });
+        descartarExclusoesAntigas();
+    }
+
+    // Registra a exclusão na versão informada. remocao recebe o valor atual, se houver, para o índice desfazer o
+    // que mantém dele
+    void excluir(Long id, Long versao, Consumer<V> remocao) {
+        long nova = versao(versao);
+        boolean[] registrada = {false};
+        entradas.compute(id, (chave, atual) -> {
+            if (atual != null && atual.versao() > nova) {
+                return atual;
+            }
+            if (atual != null && atual.valor() != null) {
+                remocao.accept(atual.valor());
+                comValor.decrementAndGet();
+            }
+            registrada[0] = true;
+            return new Entrada<>(null, nova, true);
+        });
+        if (registrada[0]) {
+            exclusoes.add(new Exclusao(id, nova, relogioNanos.getAsLong()));
+        }
+        descartarExclusoesAntigas();
+    }
+
+    // Troca o valor de uma atividade que está no índice, mantendo a versão (ex.: mudança de faixa com o tempo).
+    // Não faz nada se ela saiu do índice nesse meio tempo
+    void alterar(Long id, UnaryOperator<V> alteracao) {
+        entradas.computeIfPresent(id, (chave, atual) -> atual.valor() == null
+                ? atual
+                : new Entrada<>(alteracao.apply(atual.valor()), atual.versao(), false));
+    }
+
+    // Valor atual, ou null se a atividade não está no índice
+    V valor(Long id) {
+        Entrada<V> entrada = entradas.get(id);
+        return entrada == null ? null : entrada.valor();
+    }
+
+    // Atividades com valor no índice (tombstones e entradas fora do índice não contam)
+    int tamanho() {
+        return comValor.get();
+    }
+
+    void limpar() {
+        entradas.clear();
+        exclusoes.clear();
+        comValor.set(0);
+    }
+
+    // Só remove o tombstone se ele ainda for o da mesma exclusão
+    private void descartarExclusoesAntigas() {
+        long limite = relogioNanos.getAsLong() - retencaoNanos;
+        Exclusao exclusao;
+        while ((exclusao = exclusoes.peek()) != null && exclusao.instante() - limite < 0) {
+            if (exclusoes.remove(exclusao)) {
+                long versao = exclusao.versao();
+                entradas.computeIfPresent(exclusao.id(), (chave, atual) ->
+                        atual.excluida() && atual.versao() == versao ? null : atual);
+            }
+        }
+    }
+
+    private static long versao(Long versao) {
+        return versao == null ? 0L : versao;
+    }
+}
@@ -0,0 +1,71 @@
+package com.projetochamada.atividade.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Tokenização usada tanto na indexação quanto na consulta: remove acentos, passa para minúsculas,
+// descarta stopwords do português e reduz plurais comuns ao singular ("lições" e "licao" viram o mesmo termo).
+public final class TokenizadorPortugues {
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+
+    // Já sem acento, porque a comparação acontece depois da normalização
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "o", "as", "os", "um", "uma", "uns", "umas",
+            "de", "da", "do", "das", "dos", "em", "no", "na", "nos", "nas", "num", "numa",
+            "ao", "aos", "pelo", "pela", "pelos", "pelas", "por", "para", "pra", "com", "sem", "sob", "sobre",
+            "e", "ou", "mas", "que", "se", "como", "mais", "menos", "muito", "ja", "nao", "sim",
+            "eu", "tu", "ele", "ela", "vos", "eles", "elas", "voce", "voces", "seu", "sua", "seus", "suas",
+            "este", "esta", "estes", "estas", "esse", "essa", "esses", "essas", "isso", "isto", "aquilo",
+            "ser", "sao", "foi", "ter", "tem", "ha", "entre", "ate", "apos", "cada", "todo", "toda", "todos", "todas"
+    );
+
+    private TokenizadorPortugues() {
+    }
+
+    public static List<String> tokenizar(String texto) {
+        List<String> termos = new ArrayList<>();
+        if (texto == null || texto.isEmpty()) {
+            return termos;
+        }
+        String normalizado = MARCAS_DIACRITICAS
+                .matcher(Normalizer.normalize(texto, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        for (String token : SEPARADORES.split(normalizado)) {
+            if (token.length() < 2 || STOPWORDS.contains(token)) {
+                continue;
+            }
+            termos.add(singular(token));
+        }
+        return termos;
+    }
+
+    // Redução leve de plural; não é um stemmer completo, só junta as formas mais comuns
+    static String singular(String termo) {
+        if (termo.length() <= 3 || !termo.endsWith("s")) {
+            return termo;
+        }
+        if (termo.endsWith("oes") || termo.endsWith("aes")) {
+            return termo.substring(0, termo.length() - 3) + "ao"; // licoes -> licao, paes -> pao
+        }
+        if (termo.endsWith("ais")) {
+            return termo.substring(0, termo.length() - 3) + "al"; // jornais -> jornal
+        }
+        if (termo.endsWith("eis")) {
+            return termo.substring(0, termo.length() - 3) + "el"; // papeis -> papel
+        }
+        if (termo.endsWith("ns")) {
+            return termo.substring(0, termo.length() - 2) + "m"; // itens -> item
+        }
+        if (termo.endsWith("res") || termo.endsWith("zes")) {
+            return termo.substring(0, termo.length() - 2); // professores -> professor, vezes -> vez
+        }
+        return termo.substring(0, termo.length() - 1); // atividades -> atividade
+    }
+}
@@ -0,0 +1,51 @@
+package com.projetochamada.atividade.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+// Conversor JSON padrão com o tempo de serialização medido (atividades.serializacao), por endpoint e resultado.
+// O tempo inclui a escrita no buffer da resposta, que é onde o Jackson entrega os bytes
+public class ConversorJsonMedido extends MappingJackson2HttpMessageConverter {
+
+    private final MeterRegistry meterRegistry;
+
+    public ConversorJsonMedido(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        super(objectMapper);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        String resultado = "SUCCESS";
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } catch (IOException | RuntimeException e) {
+            resultado = "ERROR";
+            throw e;
+        } finally {
+            amostra.stop(Timer.builder("atividades.serializacao")
+                    .description("Serialização JSON das respostas")
+                    .tag("uri", uriAtual())
+                    .tag("outcome", resultado)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    private static String uriAtual() {
+        RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+        Object padrao = atributos == null ? null
+                : atributos.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return padrao == null ? "UNKNOWN" : padrao.toString();
+    }
+}
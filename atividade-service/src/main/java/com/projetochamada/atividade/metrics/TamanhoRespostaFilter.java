@@ -0,0 +1,168 @@
+package com.projetochamada.atividade.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+// atividades.http.resposta.bytes: tamanho do corpo de cada resposta por endpoint e resultado.
+// Conta os bytes antes da compressão do Tomcat. Respostas assíncronas (streaming e SSE) são registradas
+// quando terminam
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TamanhoRespostaFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    public TamanhoRespostaFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RespostaContada contada = new RespostaContada(response);
+        try {
+            filterChain.doFilter(request, contada);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        registrar(request, contada);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                registrar(request, contada);
+            }
+        }
+    }
+
+    private void registrar(HttpServletRequest request, RespostaContada resposta) {
+        // O padrão da rota (/atividades/{id}) e não a URI concreta, para não criar uma série por id
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("atividades.http.resposta.bytes")
+                .description("Tamanho do corpo das respostas")
+                .baseUnit("bytes")
+                .tag("uri", padrao == null ? "UNKNOWN" : padrao.toString())
+                .tag("method", request.getMethod())
+                .tag("outcome", Outcome.forStatus(resposta.getStatus()).name())
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(resposta.bytes());
+    }
+
+    private static final class RespostaContada extends HttpServletResponseWrapper {
+
+        private ContadorOutputStream outputStream;
+        private PrintWriter writer;
+
+        RespostaContada(HttpServletResponse response) {
+            super(response);
+        }
+
+        long bytes() {
+            if (writer != null) {
+                writer.flush();
+            }
+            return outputStream == null ? 0 : outputStream.total;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new ContadorOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        // O writer escreve pelo mesmo stream contado, na codificação da resposta
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            super.flushBuffer();
+        }
+    }
+
+    private static final class ContadorOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private long total;
+
+        ContadorOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            total++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            total += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
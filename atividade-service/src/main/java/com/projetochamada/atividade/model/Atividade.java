@@ -4,18 +4,35 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "atividades")
+@Table(name = "atividades", indexes = {
+        // Listagens por professor ordenadas por prazo (keyset em dataEntrega, id)
+        @Index(name = "idx_atividades_professor_entrega", columnList = "professorId, dataEntrega, id"),
+        // Listagens só por faixa de prazo
+        @Index(name = "idx_atividades_entrega", columnList = "dataEntrega, id"),
+        // Sincronização incremental (GET /atividades/changes): range scan por alteracaoSeq
+        @Index(name = "idx_atividades_alteracao", columnList = "alteracaoSeq")
+})
+// Atividades excluídas viram tombstones (excluidaEm preenchido) para a sincronização incremental; todas as
+// consultas JPQL e carregamentos ignoram essas linhas. Só as consultas nativas de /changes enxergam os tombstones
+@SQLRestriction("excluida_em is null")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Atividade {
 
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Sequência com pool: o Hibernate reserva 50 ids por ida ao banco e consegue agrupar os INSERTs em lotes JDBC,
+    // o que não acontece com IDENTITY (cada INSERT precisa devolver o id gerado)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "atividades_seq")
+    @SequenceGenerator(name = "atividades_seq", sequenceName = "atividades_seq", allocationSize = Atividade.ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -32,4 +49,22 @@ public class Atividade {
 
     @Column(nullable = false)
     private Long professorId;
+
+    // Atualizada em toda escrita; base do Last-Modified. Linhas antigas podem não ter valor
+    @Column(nullable = true)
+    private LocalDateTime dataAtualizacao;
+
+    // Incrementada em toda escrita; base do ETag e do If-Match (controle otimista de concorrência)
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long versao;
+
+    // Posição da última escrita (criação, edição ou exclusão) na sequência global de alterações
+    @Column(nullable = true)
+    private Long alteracaoSeq;
+
+    // Preenchido quando a atividade é excluída; o tombstone é removido de vez depois do período de retenção
+    @Column(nullable = true)
+    private LocalDateTime excluidaEm;
 }
\ No newline at end of file
@@ -1,12 +1,160 @@
 package com.projetochamada.atividade.repository;
 
+import com.projetochamada.atividade.dto.AtividadeResponse;
+import com.projetochamada.atividade.dto.AtividadeResumoResponse;
+import com.projetochamada.atividade.dto.AtividadeResumoVersionado;
+import com.projetochamada.atividade.dto.ContagemPrazoResponse;
 import com.projetochamada.atividade.model.Atividade;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AtividadeRepository extends JpaRepository<Atividade, Long> {
     List<Atividade> findByProfessorId(Long professorId);
-}
\ No newline at end of file
+
+    // Paginação por keyset: usa o índice da chave primária em vez de OFFSET
+    List<Atividade> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Cursor forward-only; precisa ser consumido dentro de uma transação e fechado ao final
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Atividade> streamAllByOrderByIdAsc();
+
+    // Projeções de resumo: selecionam só as colunas da listagem, sem hidratar entidades nem ler a descricao (TEXT)
+    String RESUMO = "select new com.projetochamada.atividade.dto.AtividadeResumoResponse(" +
+            "a.id, a.titulo, a.dataEntrega, a.professorId) from Atividade a ";
+
+    @Query(RESUMO + "where a.id > :id order by a.id")
+    List<AtividadeResumoResponse> listarResumosAposId(@Param("id") Long id, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(RESUMO + "order by a.id")
+    Stream<AtividadeResumoResponse> streamResumos();
+
+    // Resumos com a versão da linha, para a carga inicial dos índices em memória
+    String RESUMO_VERSIONADO = "select new com.projetochamada.atividade.dto.AtividadeResumoVersionado(" +
+            "a.id, a.titulo, a.dataEntrega, a.professorId, a.versao) from Atividade a ";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(RESUMO_VERSIONADO + "order by a.id")
+    Stream<AtividadeResumoVersionado> streamResumosVersionados();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(RESUMO_VERSIONADO + "where a.dataEntrega is not null")
+    Stream<AtividadeResumoVersionado> streamResumosVersionadosComPrazo();
+
+    // Todas as colunas já como DTO, para reconstruir o índice de busca sem hidratar entidades
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.projetochamada.atividade.dto.AtividadeResponse(a.id, a.titulo, a.descricao, " +
+            "a.dataCriacao, a.dataEntrega, a.professorId, a.dataAtualizacao, a.versao) from Atividade a")
+    Stream<AtividadeResponse> streamRespostas();
+
+    // Mesmas faixas do EstatisticasIndex, calculadas no banco; usada só na reconciliação
+    @Query("select new com.projetochamada.atividade.dto.ContagemPrazoResponse(a.professorId, count(a), " +
+            "sum(case when a.dataEntrega < :agora then 1L else 0L end), " +
+            "sum(case when a.dataEntrega >= :agora and a.dataEntrega < :fimSemana then 1L else 0L end), " +
+            "sum(case when a.dataEntrega >= :fimSemana then 1L else 0L end), " +
+            "sum(case when a.dataEntrega is null then 1L else 0L end)) " +
+            "from Atividade a group by a.professorId order by a.professorId")
+    List<ContagemPrazoResponse> contarPorProfessorEPrazo(@Param("agora") LocalDateTime agora,
+                                                         @Param("fimSemana") LocalDateTime fimSemana);
+
+    // Filtros por professor e/ou faixa de prazo, em keyset sobre (dataEntrega, id). A faixa começa no cursor e o
+    // desempate por id fica como filtro residual, para o H2 fazer range scan em idx_atividades_professor_entrega
+    // (ou idx_atividades_entrega, sem professor). Atividades sem dataEntrega não entram nessas listagens
+    String FILTRO_PROFESSOR_PRAZO = "where a.professorId = :professorId " +
+            "and a.dataEntrega >= :inicio and a.dataEntrega < :fim " +
+            "and (a.dataEntrega > :inicio or a.id > :cursorId) " +
+            "order by a.dataEntrega, a.id";
+    String FILTRO_PRAZO = "where a.dataEntrega >= :inicio and a.dataEntrega < :fim " +
+            "and (a.dataEntrega > :inicio or a.id > :cursorId) " +
+            "order by a.dataEntrega, a.id";
+
+    @Query("select a from Atividade a " + FILTRO_PROFESSOR_PRAZO)
+    List<Atividade> listarPorProfessorEPrazo(@Param("professorId") Long professorId,
+                                             @Param("inicio") LocalDateTime inicio,
+                                             @Param("fim") LocalDateTime fim,
+                                             @Param("cursorId") Long cursorId,
+                                             Pageable pageable);
+
+    @Query(RESUMO + FILTRO_PROFESSOR_PRAZO)
+    List<AtividadeResumoResponse> listarResumosPorProfessorEPrazo(@Param("professorId") Long professorId,
+                                                                  @Param("inicio") LocalDateTime inicio,
+                                                                  @Param("fim") LocalDateTime fim,
+                                                                  @Param("cursorId") Long cursorId,
+                                                                  Pageable pageable);
+
+    @Query("select a from Atividade a " + FILTRO_PRAZO)
+    List<Atividade> listarPorPrazo(@Param("inicio") LocalDateTime inicio,
+                                   @Param("fim") LocalDateTime fim,
+                                   @Param("cursorId") Long cursorId,
+                                   Pageable pageable);
+
+    @Query(RESUMO + FILTRO_PRAZO)
+    List<AtividadeResumoResponse> listarResumosPorPrazo(@Param("inicio") LocalDateTime inicio,
+                                                        @Param("fim") LocalDateTime fim,
+                                                        @Param("cursorId") Long cursorId,
+                                                        Pageable pageable);
+
+    // Quantidade de linhas e soma das versões, tombstones incluídos: só muda quando uma escrita confirma (criação
+    // soma uma linha, edição e exclusão incrementam a versão). Parte do ETag das listagens, ver versaoDasListagens
+    @Query(value = "SELECT COUNT(*) || '.' || COALESCE(SUM(versao), 0) FROM atividades", nativeQuery = true)
+    String versaoDaTabela();
+
+    @Query("select a.professorId from Atividade a where a.id = :id")
+    Optional<Long> buscarProfessorId(@Param("id") Long id);
+
+    // Escritas condicionais: só afetam a linha se ela pertence ao professor (e, com versao informada, se ela
+    // ainda é a versão atual). O FINAL TABLE do H2 devolve a linha como o UPDATE a deixou, no mesmo comando: a
+    // resposta e o evento saem dele sem uma segunda leitura. Vazio quando nenhuma linha foi afetada
+    @Query(value = "SELECT * FROM FINAL TABLE (UPDATE atividades SET titulo = :titulo, descricao = :descricao, " +
+            "data_entrega = :dataEntrega, data_atualizacao = :agora, versao = versao + 1, alteracao_seq = :seq " +
+            "WHERE id = :id AND professor_id = :professorId AND excluida_em IS NULL " +
+            "AND (CAST(:versao AS BIGINT) IS NULL OR versao = :versao))", nativeQuery = true)
+    Optional<Atividade> atualizarSeProprietario(@Param("id") Long id,
+                                                @Param("professorId") Long professorId,
+                                                @Param("versao") Long versao,
+                                                @Param("seq") long seq,
+                                                @Param("titulo") String titulo,
+                                                @Param("descricao") String descricao,
+                                                @Param("dataEntrega") LocalDateTime dataEntrega,
+                                                @Param("agora") LocalDateTime agora);
+
+    // A exclusão só marca o tombstone; a linha continua visível para GET /atividades/changes.
+    // Devolve a versão que a exclusão gravou
+    @Query(value = "SELECT versao FROM FINAL TABLE (UPDATE atividades SET excluida_em = :agora, " +
+            "versao = versao + 1, alteracao_seq = :seq " +
+            "WHERE id = :id AND professor_id = :professorId AND excluida_em IS NULL)", nativeQuery = true)
+    Optional<Long> excluirSeProprietario(@Param("id") Long id,
+                                         @Param("professorId") Long professorId,
+                                         @Param("seq") long seq,
+                                         @Param("agora") LocalDateTime agora);
+
+    // Alterações (inclusive tombstones) em (desde, ate], por range scan em idx_atividades_alteracao.
+    // Nativa porque o @SQLRestriction da entidade esconderia as linhas excluídas
+    @Query(value = "SELECT * FROM atividades WHERE alteracao_seq > :desde AND alteracao_seq <= :ate " +
+            "ORDER BY alteracao_seq LIMIT :limite", nativeQuery = true)
+    List<Atividade> listarAlteracoes(@Param("desde") long desde, @Param("ate") long ate, @Param("limite") int limite);
+
+    // Remove de vez os tombstones mais antigos que o limite. O que tem o maior alteracao_seq fica, para a sequência
+    // de alterações não voltar a um valor já usado quando a aplicação reinicia
+    @Modifying
+    @Query(value = "DELETE FROM atividades WHERE excluida_em < :limite " +
+            "AND alteracao_seq < (SELECT MAX(alteracao_seq) FROM atividades)", nativeQuery = true)
+    int compactarExclusoes(@Param("limite") LocalDateTime limite);
+}
@@ -1,5 +1,7 @@
 package com.projetochamada.atividade.security.jwt;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,23 +9,31 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.authority.SimpleGrantedAuthority; // Importe esta classe
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
-import java.util.stream.Collectors;
-import java.util.Collections; // Importe para Collections.emptyList()
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+    // atividades.auth, separado em parse (verificação da assinatura ou acerto no cache) e validate
+    private final MeterRegistry meterRegistry;
+    private final Timer parseOk;
+    private final Timer parseInvalido;
+    private final Timer validacaoOk;
+    private final Timer validacaoInvalida;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, MeterRegistry meterRegistry) {
         this.jwtUtil = jwtUtil;
+        this.meterRegistry = meterRegistry;
+        this.parseOk = timer(meterRegistry, "parse", "ok");
+        this.parseInvalido = timer(meterRegistry, "parse", "invalido");
+        this.validacaoOk = timer(meterRegistry, "validate", "ok");
+        this.validacaoInvalida = timer(meterRegistry, "validate", "invalido");
     }
 
     @Override
@@ -41,38 +51,38 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        // Extrai o token JWT
+        // Extrai o token JWT e verifica a assinatura uma única vez (ou reaproveita a verificação do cache)
         jwt = authHeader.substring(7);
-        username = jwtUtil.extractUsername(jwt);
+        Timer.Sample parse = Timer.start(meterRegistry);
+        final TokenVerificado token;
+        try {
+            token = jwtUtil.verificarToken(jwt);
+        } catch (RuntimeException e) {
+            parse.stop(parseInvalido);
+            throw e;
+        }
+        parse.stop(parseOk);
+        username = token.getUsername();
 
         // Se o username foi extraído e não há autenticação no contexto de segurança atual
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            // Extrai o ID do usuário e as roles dos claims do JWT
-            Long userId = jwtUtil.extractAllClaims(jwt).get("userId", Long.class);
-            List<String> userRoles = jwtUtil.extractAllClaims(jwt).get("roles", List.class);
+            // ID do usuário e roles já vêm extraídos dos claims do JWT
+            Long userId = token.getUserId();
 
             // Se o ID do usuário não estiver no token (erro ou token malformado), continue sem autenticar
-            if (userId == null) {
+            if (userId == null || token.getUserDetails() == null) {
                 System.err.println("JWT does not contain 'userId' claim. Cannot authenticate.");
                 filterChain.doFilter(request, response);
                 return;
             }
 
-            // Garante que a lista de roles não é nula
-            if (userRoles == null) {
-                userRoles = Collections.emptyList();
-            }
-
-            UserDetails userDetails = new org.springframework.security.core.userdetails.User(
-                    username,
-                    "", // Senha dummy ou vazia, pois a autenticação já foi feita via token
-                    userRoles.stream()
-                            .map(SimpleGrantedAuthority::new)
-                            .collect(Collectors.toList())
-            );
+            UserDetails userDetails = token.getUserDetails();
 
             // Valida o token (expiração e username)
-            if (jwtUtil.validateToken(jwt, userDetails)) {
+            Timer.Sample validacao = Timer.start(meterRegistry);
+            boolean valido = jwtUtil.validateToken(token, userDetails);
+            validacao.stop(valido ? validacaoOk : validacaoInvalida);
+            if (valido) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails, // O UserDetails contém username e autoridades (roles)
                         null,        // Credenciais (senha) não são mais necessárias
@@ -89,4 +99,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response); // Continua a cadeia de filtros
     }
+
+    private static Timer timer(MeterRegistry meterRegistry, String fase, String resultado) {
+        return Timer.builder("atividades.auth")
+                .description("Autenticação JWT por requisição")
+                .tag("fase", fase)
+                .tag("resultado", resultado)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 }
\ No newline at end of file
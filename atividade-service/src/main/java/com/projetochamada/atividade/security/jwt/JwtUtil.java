@@ -1,42 +1,53 @@
 package com.projetochamada.atividade.security.jwt;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
+import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
-    // A chave para assinar os tokens
-    @Value("${jwt.secret}")
-    private String SECRET_KEY;
-
     // Tempo de validação do token
-    @Value("${jwt.expiration}")
-    private long EXPIRATION_TIME;
+    private final long EXPIRATION_TIME;
+
+    // A chave de assinatura e o parser são imutáveis e thread-safe, então são montados uma única vez
+    private final SecretKey signKey;
+    private final JwtParser jwtParser;
 
-    // Método para obter a chave de assinatura
-    private Key getSignKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+    // Tokens já verificados, indexados pelo hash do token e descartados quando o "exp" passa
+    private final TokenVerificadoCache tokenCache;
+
+    public JwtUtil(@Value("${jwt.secret}") String secretKey,
+                   @Value("${jwt.expiration}") long expirationTime,
+                   @Value("${jwt.cache.max-size:10000}") int cacheMaxSize) {
+        this.EXPIRATION_TIME = expirationTime;
+        this.signKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signKey)
+                .build();
+        this.tokenCache = new TokenVerificadoCache(cacheMaxSize);
     }
 
     // Métodos para extração de info e validação token
     public Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .setSigningKey(getSignKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtParser
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    // Faz o parse e a verificação da assinatura apenas na primeira vez que o token aparece;
+    // as requisições seguintes com o mesmo token reaproveitam o principal já montado
+    public TokenVerificado verificarToken(String token) {
+        return tokenCache.obter(token, t -> new TokenVerificado(extractAllClaims(t)));
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -45,19 +56,20 @@ public class JwtUtil {
     }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verificarToken(token).getUsername();
     }
 
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return verificarToken(token).getExpiration();
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public Boolean validateToken(String token, UserDetails userDetails) {
+        return validateToken(verificarToken(token), userDetails);
     }
 
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    public Boolean validateToken(TokenVerificado token, UserDetails userDetails) {
+        return token.getUsername() != null
+                && token.getUsername().equals(userDetails.getUsername())
+                && !token.isExpirado(System.currentTimeMillis());
     }
-}
\ No newline at end of file
+}
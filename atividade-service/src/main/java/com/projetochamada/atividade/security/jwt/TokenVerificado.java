@@ -0,0 +1,44 @@
+package com.projetochamada.atividade.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+// Resultado imutável da verificação de um JWT: tudo que o filtro precisa, extraído dos claims uma única vez
+@Getter
+public class TokenVerificado {
+
+    private final String username;
+    private final Long userId;
+    private final List<String> roles;
+    private final Date expiration;
+    private final UserDetails userDetails;
+
+    public TokenVerificado(Claims claims) {
+        this.username = claims.getSubject();
+        this.userId = claims.get("userId", Long.class);
+        List<String> userRoles = claims.get("roles", List.class);
+        // Garante que a lista de roles não é nula
+        this.roles = userRoles == null ? Collections.emptyList() : List.copyOf(userRoles);
+        this.expiration = claims.getExpiration();
+        // O User só pode ser montado com username preenchido; sem ele o filtro não autentica
+        this.userDetails = (username == null || username.isEmpty()) ? null : new User(
+                username,
+                "", // Senha dummy ou vazia, pois a autenticação já foi feita via token
+                roles.stream()
+                        .map(SimpleGrantedAuthority::new)
+                        .toList()
+        );
+    }
+
+    // Token sem "exp" é tratado como expirado: não entra no cache nem autentica
+    public boolean isExpirado(long agoraMillis) {
+        return expiration == null || expiration.getTime() <= agoraMillis;
+    }
+}
@@ -0,0 +1,75 @@
+package com.projetochamada.atividade.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// Cache limitado de tokens já verificados. A chave é o SHA-256 do token (o token em si nunca fica em memória)
+// e cada entrada vale até o "exp" do próprio token, então não existe TTL separado para configurar.
+// Acima de maxSize o Caffeine despeja as entradas menos usadas
+class TokenVerificadoCache {
+
+    private final Cache<String, TokenVerificado> tokens;
+    private final Ticker relogio;
+
+    TokenVerificadoCache(int maxSize) {
+        this(maxSize, () -> TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis()));
+    }
+
+    // O relógio conta nanossegundos desde a época, a mesma base do "exp", para o Caffeine expirar a entrada
+    // exatamente quando o token vence
+    TokenVerificadoCache(int maxSize, Ticker relogio) {
+        this.relogio = relogio;
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .ticker(relogio)
+                .expireAfter(Expiry.<String, TokenVerificado>creating((chave, verificado) ->
+                        Duration.ofMillis(Math.max(0, verificado.getExpiration().getTime() - agoraMillis()))))
+                .build();
+    }
+
+    TokenVerificado obter(String token, Function<String, TokenVerificado> verificador) {
+        String chave = hash(token);
+
+        TokenVerificado verificado = tokens.getIfPresent(chave);
+        if (verificado != null) {
+            return verificado;
+        }
+
+        // Se o token for inválido o verificador lança a exceção do jjwt e nada é guardado
+        verificado = verificador.apply(token);
+        if (!verificado.isExpirado(agoraMillis())) {
+            tokens.put(chave, verificado);
+        }
+        return verificado;
+    }
+
+    // Roda a manutenção pendente (despejo e expiração) antes de contar
+    long size() {
+        tokens.cleanUp();
+        return tokens.estimatedSize();
+    }
+
+    private long agoraMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(relogio.read());
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 é obrigatório em toda JVM
+            throw new IllegalStateException(e);
+        }
+    }
+}
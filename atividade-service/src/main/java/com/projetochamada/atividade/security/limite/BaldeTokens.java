@@ -0,0 +1,39 @@
+package com.projetochamada.atividade.security.limite;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket guardado num único long (algoritmo GCRA): em vez de tokens e horário do último reabastecimento,
+// guarda o instante em que o balde estaria cheio de novo. Consumir um token é um compareAndSet, sem lock.
+// Balde cheio equivale a balde inexistente, por isso ele pode ser descartado quando fica ocioso
+final class BaldeTokens {
+
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+    private final AtomicLong cheioEm;
+
+    // taxa tokens por segundo, até "rajada" tokens acumulados
+    BaldeTokens(double porSegundo, int rajada, long agoraNanos) {
+        this.intervaloNanos = (long) (1_000_000_000L / porSegundo);
+        this.toleranciaNanos = intervaloNanos * rajada;
+        this.cheioEm = new AtomicLong(agoraNanos);
+    }
+
+    // 0 se o token foi consumido; senão, quantos nanos faltam para o próximo
+    long consumir(long agoraNanos) {
+        while (true) {
+            long atual = cheioEm.get();
+            long proximo = Math.max(atual, agoraNanos) + intervaloNanos;
+            long excesso = proximo - agoraNanos - toleranciaNanos;
+            if (excesso > 0) {
+                return excesso;
+            }
+            if (cheioEm.compareAndSet(atual, proximo)) {
+                return 0;
+            }
+        }
+    }
+
+    boolean cheio(long agoraNanos) {
+        return cheioEm.get() - agoraNanos <= 0;
+    }
+}
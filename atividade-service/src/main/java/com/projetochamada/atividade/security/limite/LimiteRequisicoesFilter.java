@@ -0,0 +1,140 @@
+package com.projetochamada.atividade.security.limite;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+// Controle de admissão de /atividades, logo depois do JwtAuthenticationFilter:
+// 1. token bucket por usuário (claim userId), com taxa e rajada por role;
+// 2. limite global de requisições em andamento, para que um cliente em loop não esgote o pool de conexões.
+// As duas recusas respondem 429 com Retry-After antes de chegar ao controller.
+// Contadores em atividades.admissao (resultado admitida/rejeitada, motivo taxa/concorrencia, role)
+@Component
+public class LimiteRequisicoesFilter extends OncePerRequestFilter {
+
+    private static final String ROLE_PROFESSOR = "ROLE_PROFESSOR";
+
+    private record Limite(double porSegundo, int rajada) {
+    }
+
+    // ConcurrentHashMap: leitura sem lock e escrita por bin, então usuários diferentes não disputam o mesmo lock
+    private final ConcurrentHashMap<Long, BaldeTokens> baldes = new ConcurrentHashMap<>();
+    private final Limite limiteProfessor;
+    private final Limite limiteAluno;
+    private final Semaphore emAndamento;
+
+    private final Counter admitidaProfessor;
+    private final Counter admitidaAluno;
+    private final Counter rejeitadaTaxaProfessor;
+    private final Counter rejeitadaTaxaAluno;
+    private final Counter rejeitadaConcorrencia;
+
+    public LimiteRequisicoesFilter(@Value("${atividades.limite.professor.por-segundo:20}") double professorPorSegundo,
+                                   @Value("${atividades.limite.professor.rajada:40}") int professorRajada,
+                                   @Value("${atividades.limite.aluno.por-segundo:10}") double alunoPorSegundo,
+                                   @Value("${atividades.limite.aluno.rajada:20}") int alunoRajada,
+                                   @Value("${atividades.limite.concorrencia:64}") int concorrencia,
+                                   MeterRegistry meterRegistry) {
+        this.limiteProfessor = new Limite(professorPorSegundo, professorRajada);
+        this.limiteAluno = new Limite(alunoPorSegundo, alunoRajada);
+        this.emAndamento = new Semaphore(concorrencia);
+
+        this.admitidaProfessor = contador(meterRegistry, "admitida", "nenhum", "PROFESSOR");
+        this.admitidaAluno = contador(meterRegistry, "admitida", "nenhum", "ALUNO");
+        this.rejeitadaTaxaProfessor = contador(meterRegistry, "rejeitada", "taxa", "PROFESSOR");
+        this.rejeitadaTaxaAluno = contador(meterRegistry, "rejeitada", "taxa", "ALUNO");
+        this.rejeitadaConcorrencia = contador(meterRegistry, "rejeitada", "concorrencia", "todas");
+        meterRegistry.gauge("atividades.admissao.baldes", baldes, ConcurrentHashMap::size);
+        meterRegistry.gauge("atividades.admissao.em.andamento", emAndamento,
+                semaforo -> concorrencia - semaforo.availablePermits());
+    }
+
+    // Só a API de atividades; preflight CORS não conta
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return HttpMethod.OPTIONS.matches(request.getMethod())
+                || !request.getRequestURI().startsWith(request.getContextPath() + "/atividades");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        // Sem usuário autenticado o Spring Security já vai recusar a requisição; nada a limitar
+        if (!(request.getAttribute("authenticatedUserId") instanceof Long userId)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        boolean professor = isProfessor(SecurityContextHolder.getContext().getAuthentication());
+        Limite limite = professor ? limiteProfessor : limiteAluno;
+        long agora = System.nanoTime();
+        long espera = baldes.computeIfAbsent(userId, id -> new BaldeTokens(limite.porSegundo(), limite.rajada(), agora))
+                .consumir(agora);
+        if (espera > 0) {
+            (professor ? rejeitadaTaxaProfessor : rejeitadaTaxaAluno).increment();
+            recusar(response, espera);
+            return;
+        }
+
+        // Sem fila: esperar aqui só prenderia mais threads. Em respostas assíncronas (streaming, SSE) a vaga é
+        // liberada quando o controller retorna, para conexões longas não ocuparem o limite
+        if (!emAndamento.tryAcquire()) {
+            rejeitadaConcorrencia.increment();
+            recusar(response, 1_000_000_000L);
+            return;
+        }
+        try {
+            (professor ? admitidaProfessor : admitidaAluno).increment();
+            filterChain.doFilter(request, response);
+        } finally {
+            emAndamento.release();
+        }
+    }
+
+    // Baldes cheios são iguais a baldes novos, então podem sair do mapa. Se uma requisição consumir de um balde
+    // no instante em que ele é removido, o usuário ganha no máximo um token a mais
+    @Scheduled(fixedDelayString = "${atividades.limite.limpeza-intervalo:PT1M}")
+    public void descartarBaldesOciosos() {
+        long agora = System.nanoTime();
+        baldes.values().removeIf(balde -> balde.cheio(agora));
+    }
+
+    // Escreve o 429 direto, sem sendError: o dispatch para /error não carrega a autenticação desta requisição
+    private static void recusar(HttpServletResponse response, long esperaNanos) throws IOException {
+        long segundos = Math.max(1, (esperaNanos + 999_999_999L) / 1_000_000_000L);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(segundos));
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write("Muitas requisições. Tente novamente em " + segundos + "s.");
+    }
+
+    private static boolean isProfessor(Authentication authentication) {
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> ROLE_PROFESSOR.equals(authority.getAuthority()));
+    }
+
+    private static Counter contador(MeterRegistry meterRegistry, String resultado, String motivo, String role) {
+        return Counter.builder("atividades.admissao")
+                .description("Requisições admitidas e recusadas pelo controle de admissão")
+                .tag("resultado", resultado)
+                .tag("motivo", motivo)
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,306 @@
+package com.projetochamada.atividade.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projetochamada.atividade.dto.AtividadeResponse;
+import com.projetochamada.atividade.dto.ResultadoImportacaoResponse;
+import com.projetochamada.atividade.event.AtividadeAlteradaEvent;
+import com.projetochamada.atividade.model.Atividade;
+import com.projetochamada.atividade.repository.AtividadeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// Exportação e importação em massa (arquivamento de fim de período). As duas trabalham em fluxo: a exportação lê
+// com um cursor forward-only e limpa o contexto de persistência a cada bloco; a importação lê o upload registro a
+// registro e grava em blocos, cada um na sua transação. O heap não cresce com o tamanho do arquivo.
+@Service
+public class ArquivoAtividadesService {
+
+    private static final Logger log = LoggerFactory.getLogger(ArquivoAtividadesService.class);
+
+    // Múltiplo do batch_size do Hibernate e do fetch size do cursor
+    static final int BLOCO = 500;
+    private static final int MAX_ERROS_REPORTADOS = 100;
+    private static final String[] COLUNAS_CSV = {
+            "id", "titulo", "descricao", "dataCriacao", "dataEntrega", "professorId", "dataAtualizacao", "versao"
+    };
+
+    private final AtividadeRepository atividadeRepository;
+    private final SequenciaAlteracoes sequenciaAlteracoes;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate leitura;
+    private final TransactionTemplate escrita;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ArquivoAtividadesService(AtividadeRepository atividadeRepository,
+                                    SequenciaAlteracoes sequenciaAlteracoes,
+                                    ApplicationEventPublisher eventPublisher,
+                                    ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager) {
+        this.atividadeRepository = atividadeRepository;
+        this.sequenciaAlteracoes = sequenciaAlteracoes;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+        this.escrita = new TransactionTemplate(transactionManager);
+    }
+
+    // Escreve todas as atividades em ordem de id. Devolve o número de linhas exportadas
+    public long exportar(FormatoArquivo formato, OutputStream outputStream) throws IOException {
+        long inicio = System.nanoTime();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM); // flush só até o writer, não até o socket
+        if (formato == FormatoArquivo.CSV) {
+            writer.write(String.join(",", COLUNAS_CSV));
+            writer.write('\n');
+        }
+
+        long total;
+        try {
+            total = leitura.execute(status -> {
+                long linhas = 0;
+                try (Stream<Atividade> atividades = atividadeRepository.streamAllByOrderByIdAsc()) {
+                    for (Atividade atividade : (Iterable<Atividade>) atividades::iterator) {
+                        escrever(formato, AtividadeService.convertToResponse(atividade), writer, generator);
+                        if (++linhas % BLOCO == 0) {
+                            entityManager.clear();
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return linhas;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        generator.flush();
+        writer.flush();
+
+        log.info("Exportação {}: {} linhas, {} linhas/s", formato, total, porSegundo(total, System.nanoTime() - inicio));
+        return total;
+    }
+
+    // Cada registro válido vira uma atividade nova (id novo) do professor que fez o upload. O professorId do arquivo
+    // é ignorado, como nas outras escritas: ninguém cria atividades em nome de outro professor. Por isso a importação
+    // não restaura um arquivo exportado com vários professores; para isso existe restaurar.
+    // Registros inválidos são contados e pulados sem derrubar o bloco
+    public ResultadoImportacaoResponse importar(FormatoArquivo formato, InputStream inputStream, Long professorId)
+            throws IOException {
+        return carregar(formato, inputStream, professorId);
+    }
+
+    // Recarga de um arquivo exportado: igual à importação, mas cada atividade volta para o professorId do registro
+    // (que passa a ser obrigatório). Só para administradores, ver SecurityConfig
+    public ResultadoImportacaoResponse restaurar(FormatoArquivo formato, InputStream inputStream) throws IOException {
+        return carregar(formato, inputStream, null);
+    }
+
+    // professorFixo null: mantém o professorId de cada registro
+    private ResultadoImportacaoResponse carregar(FormatoArquivo formato, InputStream inputStream, Long professorFixo)
+            throws IOException {
+        long inicio = System.nanoTime();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        List<Atividade> bloco = new ArrayList<>(BLOCO);
+        List<String> erros = new ArrayList<>();
+        long importadas = 0;
+        long rejeitadas = 0;
+        long numeroRegistro = 0;
+
+        LeitorCsv csv = formato == FormatoArquivo.CSV ? new LeitorCsv(reader) : null;
+        Map<String, Integer> colunas = csv == null ? null : indicesDoCabecalho(csv.proximoRegistro());
+        if (csv != null) {
+            numeroRegistro++;
+        }
+
+        while (true) {
+            AtividadeResponse registro;
+            numeroRegistro++;
+            try {
+                if (csv != null) {
+                    List<String> campos = csv.proximoRegistro();
+                    if (campos == null) {
+                        break;
+                    }
+                    if (campos.size() == 1 && campos.get(0).isBlank()) {
+                        continue;
+                    }
+                    registro = lerCsv(campos, colunas, professorFixo == null);
+                } else {
+                    String linha = reader.readLine();
+                    if (linha == null) {
+                        break;
+                    }
+                    if (linha.isBlank()) {
+                        continue;
+                    }
+                    registro = objectMapper.readValue(linha, AtividadeResponse.class);
+                }
+            } catch (JsonProcessingException | RuntimeException e) {
+                // Outros IOException (upload interrompido, aspas sem fechamento no CSV) encerram a importação;
+                // os blocos já gravados permanecem
+                rejeitadas++;
+                registrarErro(erros, numeroRegistro, "registro ilegível");
+                continue;
+            }
+
+            String erro = registro.getTitulo() == null ? "O título é obrigatório."
+                    : registro.getDescricao() == null ? "A descrição é obrigatória."
+                    : professorFixo == null && registro.getProfessorId() == null ? "O professorId é obrigatório." : null;
+            if (erro != null) {
+                rejeitadas++;
+                registrarErro(erros, numeroRegistro, erro);
+                continue;
+            }
+            bloco.add(novaAtividade(registro, professorFixo != null ? professorFixo : registro.getProfessorId()));
+            if (bloco.size() == BLOCO) {
+                importadas += gravar(bloco);
+                bloco.clear();
+            }
+        }
+        if (!bloco.isEmpty()) {
+            importadas += gravar(bloco);
+        }
+
+        long nanos = System.nanoTime() - inicio;
+        log.info("{} {}: {} linhas, {} rejeitadas, {} linhas/s", professorFixo == null ? "Restauração" : "Importação",
+                formato, importadas, rejeitadas,
+                porSegundo(importadas, nanos));
+        return new ResultadoImportacaoResponse(importadas, rejeitadas, erros, nanos / 1e9, porSegundo(importadas, nanos));
+    }
+
+    // Um bloco por transação: os INSERTs saem em lotes JDBC no flush e o contexto é limpo antes do próximo bloco
+    private int gravar(List<Atividade> bloco) {
+        escrita.executeWithoutResult(status -> {
+            for (Atividade atividade : bloco) {
+                atividade.setAlteracaoSeq(sequenciaAlteracoes.proxima());
+            }
+            atividadeRepository.saveAll(bloco);
+            entityManager.flush();
+            for (Atividade atividade : bloco) {
+                eventPublisher.publishEvent(AtividadeAlteradaEvent.criada(AtividadeService.convertToResponse(atividade)));
+            }
+            entityManager.clear();
+        });
+        return bloco.size();
+    }
+
+    private Atividade novaAtividade(AtividadeResponse registro, Long professorId) {
+        LocalDateTime agora = LocalDateTime.now();
+        Atividade atividade = new Atividade();
+        atividade.setTitulo(registro.getTitulo());
+        atividade.setDescricao(registro.getDescricao());
+        atividade.setDataCriacao(registro.getDataCriacao() != null ? registro.getDataCriacao() : agora);
+        atividade.setDataAtualizacao(registro.getDataAtualizacao() != null ? registro.getDataAtualizacao() : agora);
+        atividade.setDataEntrega(registro.getDataEntrega());
+        atividade.setProfessorId(professorId);
+        return atividade;
+    }
+
+    private void escrever(FormatoArquivo formato, AtividadeResponse atividade, Writer writer, JsonGenerator generator)
+            throws IOException {
+        if (formato == FormatoArquivo.NDJSON) {
+            generator.writeObject(atividade);
+            generator.flush();
+            writer.write('\n');
+            return;
+        }
+        Object[] valores = {
+                atividade.getId(), atividade.getTitulo(), atividade.getDescricao(), atividade.getDataCriacao(),
+                atividade.getDataEntrega(), atividade.getProfessorId(), atividade.getDataAtualizacao(), atividade.getVersao()
+        };
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (valores[i] != null) {
+                writer.write(campoCsv(valores[i].toString()));
+            }
+        }
+        writer.write('\n');
+    }
+
+    private static String campoCsv(String valor) {
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+
+    private static Map<String, Integer> indicesDoCabecalho(List<String> cabecalho) {
+        if (cabecalho == null) {
+            return Map.of();
+        }
+        Map<String, Integer> indices = new HashMap<>();
+        for (int i = 0; i < cabecalho.size(); i++) {
+            indices.put(cabecalho.get(i).trim(), i);
+        }
+        return indices;
+    }
+
+    // A coluna professorId só é lida na restauração; na importação ela é ignorada, mesmo malformada
+    private static AtividadeResponse lerCsv(List<String> campos, Map<String, Integer> colunas, boolean comProfessor) {
+        AtividadeResponse registro = new AtividadeResponse();
+        registro.setTitulo(campo(campos, colunas, "titulo"));
+        registro.setDescricao(campo(campos, colunas, "descricao"));
+        registro.setDataCriacao(data(campo(campos, colunas, "dataCriacao")));
+        registro.setDataEntrega(data(campo(campos, colunas, "dataEntrega")));
+        registro.setDataAtualizacao(data(campo(campos, colunas, "dataAtualizacao")));
+        String professorId = comProfessor ? campo(campos, colunas, "professorId") : null;
+        registro.setProfessorId(professorId == null ? null : Long.valueOf(professorId.trim()));
+        return registro;
+    }
+
+    // Campo vazio é tratado como ausente
+    private static String campo(List<String> campos, Map<String, Integer> colunas, String nome) {
+        Integer indice = colunas.get(nome);
+        if (indice == null || indice >= campos.size() || campos.get(indice).isEmpty()) {
+            return null;
+        }
+        return campos.get(indice);
+    }
+
+    private static LocalDateTime data(String valor) {
+        return valor == null ? null : LocalDateTime.parse(valor.trim());
+    }
+
+    private static void registrarErro(List<String> erros, long registro, String mensagem) {
+        if (erros.size() < MAX_ERROS_REPORTADOS) {
+            erros.add("Registro " + registro + ": " + mensagem);
+        }
+    }
+
+    private static long porSegundo(long linhas, long nanos) {
+        return nanos == 0 ? linhas : linhas * 1_000_000_000L / nanos;
+    }
+}
@@ -1,24 +1,92 @@
 package com.projetochamada.atividade.service;
 
+import com.projetochamada.atividade.cache.AtividadeCache;
+import com.projetochamada.atividade.dto.AtividadeAlteracoesResponse;
+import com.projetochamada.atividade.dto.AtividadeEstatisticasResponse;
+import com.projetochamada.atividade.dto.AtividadeLoteEdicaoRequest;
+import com.projetochamada.atividade.dto.AtividadePageResponse;
 import com.projetochamada.atividade.dto.AtividadeRequest;
 import com.projetochamada.atividade.dto.AtividadeResponse;
+import com.projetochamada.atividade.dto.AtividadeResumoResponse;
+import com.projetochamada.atividade.dto.ResultadoItemLoteResponse;
+import com.projetochamada.atividade.event.AtividadeAlteradaEvent;
+import com.projetochamada.atividade.index.BuscaIndex;
+import com.projetochamada.atividade.index.EstatisticasIndex;
+import com.projetochamada.atividade.index.PrazoIndex;
 import com.projetochamada.atividade.model.Atividade;
 import com.projetochamada.atividade.repository.AtividadeRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+// Cada método público gera atividades.service (tags class, method e exception)
+// Eager para a compactação agendada começar junto com a aplicação, e não na primeira requisição
 @Service
+@Lazy(false)
+@Timed(value = "atividades.service", histogram = true)
 public class AtividadeService {
 
+    public static final int LIMITE_PADRAO = 50;
+    public static final int LIMITE_MAXIMO = 500;
+    public static final int LOTE_MAXIMO = 1000;
+
+    // Limites usados quando a faixa de prazo não é informada (mantêm a consulta como range scan no índice)
+    public static final LocalDateTime PRAZO_MINIMO = LocalDateTime.of(1, 1, 1, 0, 0);
+    public static final LocalDateTime PRAZO_MAXIMO = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    public static final int HORAS_MAXIMAS = 24 * 366;
+
     private final AtividadeRepository atividadeRepository;
+    private final AtividadeCache atividadeCache;
+    private final PrazoIndex prazoIndex;
+    private final BuscaIndex buscaIndex;
+    private final EstatisticasIndex estatisticasIndex;
+    private final SequenciaAlteracoes sequenciaAlteracoes;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration retencaoExclusoes;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
-    public AtividadeService(AtividadeRepository atividadeRepository) {
+    public AtividadeService(AtividadeRepository atividadeRepository,
+                            AtividadeCache atividadeCache,
+                            PrazoIndex prazoIndex,
+                            BuscaIndex buscaIndex,
+                            EstatisticasIndex estatisticasIndex,
+                            SequenciaAlteracoes sequenciaAlteracoes,
+                            ApplicationEventPublisher eventPublisher,
+                            @Value("${atividades.changes.retencao:30d}") Duration retencaoExclusoes) {
         this.atividadeRepository = atividadeRepository;
+        this.atividadeCache = atividadeCache;
+        this.prazoIndex = prazoIndex;
+        this.buscaIndex = buscaIndex;
+        this.estatisticasIndex = estatisticasIndex;
+        this.sequenciaAlteracoes = sequenciaAlteracoes;
+        this.eventPublisher = eventPublisher;
+        this.retencaoExclusoes = retencaoExclusoes;
     }
 
     @Transactional
@@ -27,59 +95,402 @@ public class AtividadeService {
         novaAtividade.setTitulo(request.getTitulo());
         novaAtividade.setDescricao(request.getDescricao());
         novaAtividade.setDataCriacao(LocalDateTime.now());
+        novaAtividade.setDataAtualizacao(novaAtividade.getDataCriacao());
         novaAtividade.setDataEntrega(request.getDataEntrega());
         novaAtividade.setProfessorId(professorId);
+        novaAtividade.setAlteracaoSeq(sequenciaAlteracoes.proxima());
 
         Atividade savedAtividade = atividadeRepository.save(novaAtividade);
-        return convertToResponse(savedAtividade);
+        AtividadeResponse response = convertToResponse(savedAtividade);
+        eventPublisher.publishEvent(AtividadeAlteradaEvent.criada(response));
+        return response;
     }
 
+    // Leitura via cache: só vai ao banco na primeira consulta (ou depois de expirar/ser invalidada)
     public Optional<AtividadeResponse> buscarAtividadePorId(Long id) {
-        return atividadeRepository.findById(id)
-                .map(this::convertToResponse);
+        return atividadeCache.obter(id, chave -> atividadeRepository.findById(chave)
+                .map(AtividadeService::convertToResponse)
+                .orElse(null));
+    }
+
+    // Identifica o estado atual da tabela inteira; as listagens usam como ETag. O alteracao_seq não serve sozinho:
+    // ele é atribuído quando a escrita roda, não quando confirma, então uma transação que confirma depois de outra
+    // com número maior não mudaria o MAX. O limite confirmado só avança quando todas as anteriores terminaram, e a
+    // contagem com a soma das versões cobre as escritas confirmadas enquanto o limite ainda espera uma mais antiga
+    @Transactional(readOnly = true)
+    public String versaoDasListagens() {
+        long limite = sequenciaAlteracoes.limiteConfirmado();
+        return limite + "." + atividadeRepository.versaoDaTabela();
     }
 
-    public List<AtividadeResponse> listarTodasAtividades() {
-        return atividadeRepository.findAll().stream()
-                .map(this::convertToResponse)
+    // Página ordenada por id a partir do cursor (exclusivo). Busca um item a mais só para saber se existe próxima página
+    @Transactional(readOnly = true)
+    public AtividadePageResponse<AtividadeResponse> listarAtividadesPaginadas(Long after, Integer limit) {
+        int tamanho = tamanhoPagina(limit);
+        List<AtividadeResponse> itens = atividadeRepository.findByIdGreaterThanOrderByIdAsc(
+                        after == null ? 0L : after, Limit.of(tamanho + 1)).stream()
+                .map(AtividadeService::convertToResponse)
                 .collect(Collectors.toList());
+        return pagina(itens, tamanho, AtividadeResponse::getId, null);
+    }
+
+    @Transactional(readOnly = true)
+    public AtividadePageResponse<AtividadeResumoResponse> listarResumosPaginados(Long after, Integer limit) {
+        int tamanho = tamanhoPagina(limit);
+        List<AtividadeResumoResponse> itens = atividadeRepository.listarResumosAposId(
+                after == null ? 0L : after, PageRequest.ofSize(tamanho + 1));
+        return pagina(itens, tamanho, AtividadeResumoResponse::getId, null);
+    }
+
+    // Listagem por professor e/ou faixa de prazo [entregaDe, entregaAte), ordenada por (dataEntrega, id).
+    // O cursor da próxima página é o par (afterEntrega, after) devolvido em proximaEntrega/proximoCursor
+    @Transactional(readOnly = true)
+    public AtividadePageResponse<AtividadeResponse> listarPorPrazo(Long professorId, LocalDateTime entregaDe,
+                                                                   LocalDateTime entregaAte, LocalDateTime afterEntrega,
+                                                                   Long after, Integer limit) {
+        int tamanho = tamanhoPagina(limit);
+        FaixaPrazo faixa = FaixaPrazo.de(entregaDe, entregaAte, afterEntrega, after);
+        Pageable pageable = PageRequest.ofSize(tamanho + 1);
+        List<Atividade> atividades = professorId != null
+                ? atividadeRepository.listarPorProfessorEPrazo(professorId, faixa.inicio(), faixa.fim(), faixa.cursorId(), pageable)
+                : atividadeRepository.listarPorPrazo(faixa.inicio(), faixa.fim(), faixa.cursorId(), pageable);
+        List<AtividadeResponse> itens = atividades.stream()
+                .map(AtividadeService::convertToResponse)
+                .collect(Collectors.toList());
+        return pagina(itens, tamanho, AtividadeResponse::getId, AtividadeResponse::getDataEntrega);
+    }
+
+    @Transactional(readOnly = true)
+    public AtividadePageResponse<AtividadeResumoResponse> listarResumosPorPrazo(Long professorId, LocalDateTime entregaDe,
+                                                                                LocalDateTime entregaAte, LocalDateTime afterEntrega,
+                                                                                Long after, Integer limit) {
+        int tamanho = tamanhoPagina(limit);
+        FaixaPrazo faixa = FaixaPrazo.de(entregaDe, entregaAte, afterEntrega, after);
+        Pageable pageable = PageRequest.ofSize(tamanho + 1);
+        List<AtividadeResumoResponse> itens = professorId != null
+                ? atividadeRepository.listarResumosPorProfessorEPrazo(professorId, faixa.inicio(), faixa.fim(), faixa.cursorId(), pageable)
+                : atividadeRepository.listarResumosPorPrazo(faixa.inicio(), faixa.fim(), faixa.cursorId(), pageable);
+        return pagina(itens, tamanho, AtividadeResumoResponse::getId, AtividadeResumoResponse::getDataEntrega);
+    }
+
+    // Atividades que vencem nas próximas horas, servidas pelo índice de prazos em memória (não consulta o banco)
+    public List<AtividadeResumoResponse> listarProximas(int horas, Integer limit) {
+        LocalDateTime agora = LocalDateTime.now();
+        return prazoIndex.buscarPorPrazo(agora, agora.plusHours(Math.min(horas, HORAS_MAXIMAS)), tamanhoPagina(limit));
+    }
+
+    // Busca por palavras no titulo e na descricao, servida pelo índice invertido em memória e ordenada por relevância
+    public List<AtividadeResumoResponse> buscar(String consulta, Integer limit) {
+        return buscaIndex.buscar(consulta, tamanhoPagina(limit));
+    }
+
+    // Contagens por professor e faixa de prazo, servidas pelos contadores em memória (não consulta o banco)
+    public AtividadeEstatisticasResponse estatisticas(Long professorId) {
+        return estatisticasIndex.estatisticas(professorId);
+    }
+
+    // Mesmo percurso de percorrerTodasAtividades, mas só com as colunas do resumo (nada entra no contexto de persistência)
+    @Transactional(readOnly = true)
+    public void percorrerResumos(Consumer<AtividadeResumoResponse> consumidor) {
+        try (Stream<AtividadeResumoResponse> resumos = atividadeRepository.streamResumos()) {
+            resumos.forEach(consumidor);
+        }
+    }
+
+    // Percorre a tabela inteira com um cursor forward-only, entregando uma atividade por vez.
+    // Cada entidade é desanexada logo após a conversão, então a memória não cresce com o tamanho da tabela
+    @Transactional(readOnly = true)
+    public void percorrerTodasAtividades(Consumer<AtividadeResponse> consumidor) {
+        try (Stream<Atividade> atividades = atividadeRepository.streamAllByOrderByIdAsc()) {
+            atividades.forEach(atividade -> {
+                consumidor.accept(convertToResponse(atividade));
+                entityManager.detach(atividade);
+            });
+        }
+    }
+
+    // A verificação de propriedade (e da versão esperada, quando o cliente manda If-Match) vai no próprio UPDATE,
+    // que já devolve a linha atualizada. A consulta extra para diferenciar 404/403/412 fica no caminho de falha
+    @Transactional
+    public ResultadoEscrita editarAtividade(Long id, AtividadeRequest request, Long professorId) {
+        return editarAtividade(id, request, professorId, null);
+    }
+
+    @Transactional
+    public ResultadoEscrita editarAtividade(Long id, AtividadeRequest request, Long professorId, Long versaoEsperada) {
+        Optional<Atividade> atualizada = atividadeRepository.atualizarSeProprietario(id, professorId, versaoEsperada,
+                sequenciaAlteracoes.proxima(), request.getTitulo(), request.getDescricao(), request.getDataEntrega(),
+                LocalDateTime.now());
+        if (atualizada.isEmpty()) {
+            return falhaDeEscrita(id, professorId);
+        }
+
+        AtividadeResponse response = convertToResponse(atualizada.get());
+        eventPublisher.publishEvent(AtividadeAlteradaEvent.atualizada(response));
+        return ResultadoEscrita.sucesso(response);
+    }
+
+    // Um único UPDATE condicional que transforma a linha em tombstone e devolve a versão gravada; vazio se não afetou
+    @Transactional
+    public ResultadoEscrita excluirAtividade(Long id, Long professorId) {
+        Optional<Long> versao = atividadeRepository.excluirSeProprietario(id, professorId,
+                sequenciaAlteracoes.proxima(), LocalDateTime.now());
+        if (versao.isEmpty()) {
+            return falhaDeEscrita(id, professorId);
+        }
+        eventPublisher.publishEvent(AtividadeAlteradaEvent.excluida(id, professorId, versao.get()));
+        return ResultadoEscrita.sucesso(null);
+    }
+
+    // Sincronização incremental: tudo o que foi criado, editado ou excluído depois do cursor, em ordem de alteração.
+    // Sem cursor é a carga inicial (tombstones não interessam a quem ainda não tem nada). Devolve vazio quando o
+    // cursor é mais antigo que a retenção dos tombstones: o cliente pode ter perdido exclusões e precisa recomeçar
+    @Transactional(readOnly = true)
+    public Optional<AtividadeAlteracoesResponse> listarAlteracoes(String since, Integer limit) {
+        long agora = System.currentTimeMillis();
+        CursorAlteracoes cursor = CursorAlteracoes.de(since);
+        if (cursor != null && agora - cursor.millis() > retencaoExclusoes.toMillis()) {
+            return Optional.empty();
+        }
+
+        int tamanho = tamanhoPagina(limit);
+        long desde = cursor == null ? 0L : cursor.seq();
+        // Só até onde todas as transações já confirmaram, para o cursor não pular uma alteração ainda em andamento
+        long ate = Math.max(desde, sequenciaAlteracoes.limiteConfirmado());
+        List<Atividade> linhas = atividadeRepository.listarAlteracoes(desde, ate, tamanho + 1);
+        boolean temMais = linhas.size() > tamanho;
+        if (temMais) {
+            linhas = linhas.subList(0, tamanho);
+        }
+
+        List<AtividadeResponse> atividades = new ArrayList<>();
+        List<Long> excluidas = new ArrayList<>();
+        for (Atividade linha : linhas) {
+            if (linha.getExcluidaEm() == null) {
+                atividades.add(convertToResponse(linha));
+            } else if (cursor != null) {
+                excluidas.add(linha.getId());
+            }
+        }
+
+        // No meio de uma sequência de páginas o cursor mantém o horário original: as exclusões ainda não lidas
+        // são posteriores a ele, e é a partir dele que a retenção garante que ainda não foram compactadas
+        CursorAlteracoes proximo = temMais
+                ? new CursorAlteracoes(linhas.get(tamanho - 1).getAlteracaoSeq(), cursor == null ? agora : cursor.millis())
+                : new CursorAlteracoes(ate, agora);
+        return Optional.of(new AtividadeAlteracoesResponse(atividades, excluidas, proximo.toString(), temMais));
     }
 
+    // Tombstones mais antigos que a retenção já foram vistos por qualquer cliente com cursor válido
+    @Scheduled(fixedDelayString = "${atividades.changes.compactacao-intervalo:PT1H}")
     @Transactional
-    public Optional<AtividadeResponse> editarAtividade(Long id, AtividadeRequest request, Long professorId) {
-        return atividadeRepository.findById(id)
-                .map(atividadeExistente -> {
-                    // Verifica se o professor autenticado é o criador da atividade
-                    if (!atividadeExistente.getProfessorId().equals(professorId)) {
-                        throw new RuntimeException("Você não tem permissão para editar esta atividade.");
-                    }
+    public void compactarExclusoes() {
+        atividadeRepository.compactarExclusoes(LocalDateTime.now().minus(retencaoExclusoes));
+    }
+
+    private int tamanhoPagina(Integer limit) {
+        return limit == null ? LIMITE_PADRAO : Math.max(1, Math.min(limit, LIMITE_MAXIMO));
+    }
 
-                    atividadeExistente.setTitulo(request.getTitulo());
-                    atividadeExistente.setDescricao(request.getDescricao());
-                    atividadeExistente.setDataEntrega(request.getDataEntrega());
+    // Recebe até tamanho + 1 itens; o item excedente só indica que existe próxima página.
+    // entrega é null nas listagens ordenadas só por id
+    private <T> AtividadePageResponse<T> pagina(List<T> itens, int tamanho, Function<T, Long> id,
+                                                Function<T, LocalDateTime> entrega) {
+        if (itens.size() <= tamanho) {
+            return new AtividadePageResponse<>(itens, null);
+        }
+        List<T> paginaAtual = itens.subList(0, tamanho);
+        T ultimo = paginaAtual.get(tamanho - 1);
+        return new AtividadePageResponse<>(paginaAtual, id.apply(ultimo), entrega == null ? null : entrega.apply(ultimo));
+    }
 
-                    Atividade updatedAtividade = atividadeRepository.save(atividadeExistente);
-                    return convertToResponse(updatedAtividade);
-                });
+    // Início da faixa já deslocado para o cursor (quando há um e ele está dentro da faixa pedida)
+    private record FaixaPrazo(LocalDateTime inicio, LocalDateTime fim, long cursorId) {
+        static FaixaPrazo de(LocalDateTime entregaDe, LocalDateTime entregaAte, LocalDateTime afterEntrega, Long after) {
+            LocalDateTime inicio = entregaDe == null ? PRAZO_MINIMO : entregaDe;
+            LocalDateTime fim = entregaAte == null ? PRAZO_MAXIMO : entregaAte;
+            if (afterEntrega != null && after != null && !afterEntrega.isBefore(inicio)) {
+                return new FaixaPrazo(afterEntrega, fim, after);
+            }
+            return new FaixaPrazo(inicio, fim, 0L);
+        }
     }
 
+    // Cursor opaco para o cliente: "<alteracaoSeq>.<epoch millis da leitura>"
+    private record CursorAlteracoes(long seq, long millis) {
+        static CursorAlteracoes de(String valor) {
+            if (valor == null || valor.isBlank()) {
+                return null;
+            }
+            String[] partes = valor.trim().split("\\.");
+            try {
+                if (partes.length == 2) {
+                    return new CursorAlteracoes(Long.parseLong(partes[0]), Long.parseLong(partes[1]));
+                }
+            } catch (NumberFormatException e) {
+                // Cai no erro abaixo
+            }
+            throw new IllegalArgumentException("Cursor inválido.");
+        }
+
+        @Override
+        public String toString() {
+            return seq + "." + millis;
+        }
+    }
+
+    // Nenhuma linha afetada: a atividade não existe, pertence a outro professor ou mudou de versão
+    private ResultadoEscrita falhaDeEscrita(Long id, Long professorId) {
+        return atividadeRepository.buscarProfessorId(id)
+                .map(dono -> dono.equals(professorId) ? ResultadoEscrita.CONFLITO : ResultadoEscrita.SEM_PERMISSAO)
+                .orElse(ResultadoEscrita.NAO_ENCONTRADA);
+    }
+
+    // Cria todas as atividades válidas numa única transação. Os ids vêm do pool da sequência,
+    // então os INSERTs são enviados em lotes JDBC no flush em vez de um por atividade
     @Transactional
-    public boolean excluirAtividade(Long id, Long professorId) {
-        Optional<Atividade> atividadeOptional = atividadeRepository.findById(id);
-        if (atividadeOptional.isPresent()) {
-            Atividade atividade = atividadeOptional.get();
-            // Verifica se o professor autenticado é o criador da atividade
-            if (!atividade.getProfessorId().equals(professorId)) {
-                throw new RuntimeException("Você não tem permissão para excluir esta atividade.");
+    public List<ResultadoItemLoteResponse> criarAtividadesEmLote(List<AtividadeRequest> requests, Long professorId) {
+        validarTamanhoLote(requests.size());
+        ResultadoItemLoteResponse[] resultados = new ResultadoItemLoteResponse[requests.size()];
+        List<Atividade> novas = new ArrayList<>();
+        List<Integer> indices = new ArrayList<>();
+        LocalDateTime agora = LocalDateTime.now();
+
+        for (int i = 0; i < requests.size(); i++) {
+            AtividadeRequest request = requests.get(i);
+            String erro = request == null ? "Item vazio." : validar(request.getTitulo(), request.getDescricao());
+            if (erro != null) {
+                resultados[i] = ResultadoItemLoteResponse.falha(i, null, ResultadoItemLoteResponse.Status.INVALIDA, erro);
+                continue;
             }
-            atividadeRepository.deleteById(id);
-            return true;
+            Atividade novaAtividade = new Atividade();
+            novaAtividade.setTitulo(request.getTitulo());
+            novaAtividade.setDescricao(request.getDescricao());
+            novaAtividade.setDataCriacao(agora);
+            novaAtividade.setDataAtualizacao(agora);
+            novaAtividade.setDataEntrega(request.getDataEntrega());
+            novaAtividade.setProfessorId(professorId);
+            novaAtividade.setAlteracaoSeq(sequenciaAlteracoes.proxima());
+            novas.add(novaAtividade);
+            indices.add(i);
+        }
+
+        List<Atividade> salvas = atividadeRepository.saveAll(novas);
+        for (int j = 0; j < salvas.size(); j++) {
+            AtividadeResponse response = convertToResponse(salvas.get(j));
+            resultados[indices.get(j)] = ResultadoItemLoteResponse.sucesso(indices.get(j), ResultadoItemLoteResponse.Status.CRIADA, response);
+            eventPublisher.publishEvent(AtividadeAlteradaEvent.criada(response));
+        }
+        return Arrays.asList(resultados);
+    }
+
+    // Carrega todas as atividades do lote com uma consulta IN e deixa o dirty checking enviar os UPDATEs em lote
+    @Transactional
+    public List<ResultadoItemLoteResponse> editarAtividadesEmLote(List<AtividadeLoteEdicaoRequest> requests, Long professorId) {
+        validarTamanhoLote(requests.size());
+        Map<Long, Atividade> existentes = carregarPorIds(requests.stream()
+                .filter(Objects::nonNull)
+                .map(AtividadeLoteEdicaoRequest::getId)
+                .toList());
+        ResultadoItemLoteResponse[] resultados = new ResultadoItemLoteResponse[requests.size()];
+        List<Integer> editadas = new ArrayList<>();
+        LocalDateTime agora = LocalDateTime.now();
+
+        for (int i = 0; i < requests.size(); i++) {
+            AtividadeLoteEdicaoRequest request = requests.get(i);
+            Long id = request == null ? null : request.getId();
+            Atividade atividade = id == null ? null : existentes.get(id);
+            String erro = request == null ? "Item vazio." : validar(request.getTitulo(), request.getDescricao());
+            if (erro != null || id == null) {
+                resultados[i] = ResultadoItemLoteResponse.falha(i, id, ResultadoItemLoteResponse.Status.INVALIDA,
+                        erro != null ? erro : "O id da atividade é obrigatório.");
+            } else if (atividade == null) {
+                resultados[i] = ResultadoItemLoteResponse.falha(i, id, ResultadoItemLoteResponse.Status.NAO_ENCONTRADA, null);
+            } else if (!atividade.getProfessorId().equals(professorId)) {
+                resultados[i] = ResultadoItemLoteResponse.falha(i, id, ResultadoItemLoteResponse.Status.SEM_PERMISSAO,
+                        "Você não tem permissão para editar esta atividade.");
+            } else {
+                atividade.setTitulo(request.getTitulo());
+                atividade.setDescricao(request.getDescricao());
+                atividade.setDataEntrega(request.getDataEntrega());
+                atividade.setDataAtualizacao(agora);
+                atividade.setAlteracaoSeq(sequenciaAlteracoes.proxima());
+                editadas.add(i);
+            }
+        }
+
+        // O flush envia os UPDATEs em lote e incrementa as versões antes de montar as respostas
+        atividadeRepository.flush();
+        for (int i : editadas) {
+            AtividadeResponse response = convertToResponse(existentes.get(requests.get(i).getId()));
+            resultados[i] = ResultadoItemLoteResponse.sucesso(i, ResultadoItemLoteResponse.Status.ATUALIZADA, response);
+            eventPublisher.publishEvent(AtividadeAlteradaEvent.atualizada(response));
+        }
+        return Arrays.asList(resultados);
+    }
+
+    // Verifica a propriedade de todas as atividades com uma consulta IN e marca as permitidas como tombstones;
+    // o dirty checking envia os UPDATEs em lote no flush
+    @Transactional
+    public List<ResultadoItemLoteResponse> excluirAtividadesEmLote(List<Long> ids, Long professorId) {
+        validarTamanhoLote(ids.size());
+        Map<Long, Atividade> existentes = carregarPorIds(ids);
+        List<ResultadoItemLoteResponse> resultados = new ArrayList<>(ids.size());
+        Set<Long> permitidas = new LinkedHashSet<>();
+        LocalDateTime agora = LocalDateTime.now();
+
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            Atividade atividade = id == null ? null : existentes.get(id);
+            if (atividade == null) {
+                resultados.add(ResultadoItemLoteResponse.falha(i, id, ResultadoItemLoteResponse.Status.NAO_ENCONTRADA, null));
+            } else if (!atividade.getProfessorId().equals(professorId)) {
+                resultados.add(ResultadoItemLoteResponse.falha(i, id, ResultadoItemLoteResponse.Status.SEM_PERMISSAO,
+                        "Você não tem permissão para excluir esta atividade."));
+            } else {
+                resultados.add(new ResultadoItemLoteResponse(i, id, ResultadoItemLoteResponse.Status.EXCLUIDA, null, null));
+                if (permitidas.add(id)) {
+                    atividade.setExcluidaEm(agora);
+                    atividade.setAlteracaoSeq(sequenciaAlteracoes.proxima());
+                }
+            }
+        }
+
+        // Os eventos saem depois do flush, que incrementa a @Version: a exclusão leva a versão que foi gravada
+        atividadeRepository.flush();
+        for (Long id : permitidas) {
+            Atividade atividade = existentes.get(id);
+            eventPublisher.publishEvent(AtividadeAlteradaEvent.excluida(id, atividade.getProfessorId(),
+                    atividade.getVersao()));
+        }
+        return resultados;
+    }
+
+    private Map<Long, Atividade> carregarPorIds(List<Long> ids) {
+        return atividadeRepository.findAllById(ids.stream().filter(Objects::nonNull).distinct().toList()).stream()
+                .collect(Collectors.toMap(Atividade::getId, Function.identity()));
+    }
+
+    private void validarTamanhoLote(int tamanho) {
+        if (tamanho > LOTE_MAXIMO) {
+            throw new IllegalArgumentException("O lote pode ter no máximo " + LOTE_MAXIMO + " itens.");
+        }
+    }
+
+    // Mesmas restrições de NOT NULL da tabela, checadas antes para não derrubar o lote inteiro no flush
+    private String validar(String titulo, String descricao) {
+        if (titulo == null) {
+            return "O título é obrigatório.";
+        }
+        if (descricao == null) {
+            return "A descrição é obrigatória.";
         }
-        return false;
+        return null;
     }
 
     // Método utilitário para converter Entidade Atividade em AtividadeResponse DTO
-    private AtividadeResponse convertToResponse(Atividade atividade) {
+    // (estático e visível no pacote: usado pela exportação e pelo benchmark JMH, sem passar pelo proxy do serviço)
+    static AtividadeResponse convertToResponse(Atividade atividade) {
         AtividadeResponse response = new AtividadeResponse();
         response.setId(atividade.getId());
         response.setTitulo(atividade.getTitulo());
@@ -87,6 +498,8 @@ public class AtividadeService {
         response.setDataCriacao(atividade.getDataCriacao());
         response.setDataEntrega(atividade.getDataEntrega());
         response.setProfessorId(atividade.getProfessorId());
+        response.setDataAtualizacao(atividade.getDataAtualizacao());
+        response.setVersao(atividade.getVersao());
         return response;
     }
 }
\ No newline at end of file
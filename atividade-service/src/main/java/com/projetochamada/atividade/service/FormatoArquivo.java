@@ -0,0 +1,29 @@
+package com.projetochamada.atividade.service;
+
+import lombok.Getter;
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+// Formatos de GET /atividades/export e POST /atividades/import
+@Getter
+public enum FormatoArquivo {
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");
+
+    private final MediaType mediaType;
+    private final String extensao;
+
+    FormatoArquivo(MediaType mediaType, String extensao) {
+        this.mediaType = mediaType;
+        this.extensao = extensao;
+    }
+
+    public static FormatoArquivo de(String valor) {
+        try {
+            return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Formato inválido. Use ndjson ou csv.");
+        }
+    }
+}
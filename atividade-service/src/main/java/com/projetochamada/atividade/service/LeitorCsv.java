@@ -0,0 +1,75 @@
+package com.projetochamada.atividade.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Lê um registro CSV (RFC 4180) por vez direto do Reader: campos entre aspas podem ter vírgulas, aspas duplicadas
+// e quebras de linha. Nada além do registro atual fica em memória
+class LeitorCsv {
+
+    private final Reader reader;
+    private int proximo = -2; // -2: nenhum caractere lido antecipadamente
+
+    LeitorCsv(Reader reader) {
+        this.reader = reader;
+    }
+
+    // null no fim do arquivo
+    List<String> proximoRegistro() throws IOException {
+        int c = ler();
+        if (c == -1) {
+            return null;
+        }
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        while (true) {
+            if (entreAspas) {
+                if (c == -1) {
+                    throw new IOException("Campo entre aspas sem fechamento.");
+                }
+                if (c == '"') {
+                    int seguinte = ler();
+                    if (seguinte == '"') {
+                        campo.append('"');
+                    } else {
+                        entreAspas = false;
+                        c = seguinte;
+                        continue;
+                    }
+                } else {
+                    campo.append((char) c);
+                }
+            } else if (c == '"' && campo.isEmpty()) {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                break;
+            } else if (c == '\r') {
+                int seguinte = ler();
+                if (seguinte != '\n') {
+                    proximo = seguinte;
+                }
+                break;
+            } else {
+                campo.append((char) c);
+            }
+            c = ler();
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    private int ler() throws IOException {
+        if (proximo != -2) {
+            int c = proximo;
+            proximo = -2;
+            return c;
+        }
+        return reader.read();
+    }
+}
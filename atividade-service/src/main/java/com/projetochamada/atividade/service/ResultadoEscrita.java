@@ -0,0 +1,26 @@
+package com.projetochamada.atividade.service;
+
+import com.projetochamada.atividade.dto.AtividadeResponse;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Resultado de uma edição/exclusão. Falhas de propriedade são um resultado comum, não uma exceção
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ResultadoEscrita {
+
+    public enum Status { SUCESSO, NAO_ENCONTRADA, SEM_PERMISSAO, CONFLITO }
+
+    public static final ResultadoEscrita NAO_ENCONTRADA = new ResultadoEscrita(Status.NAO_ENCONTRADA, null);
+    public static final ResultadoEscrita SEM_PERMISSAO = new ResultadoEscrita(Status.SEM_PERMISSAO, null);
+    // A versão informada no If-Match não é mais a atual
+    public static final ResultadoEscrita CONFLITO = new ResultadoEscrita(Status.CONFLITO, null);
+
+    private final Status status;
+    private final AtividadeResponse atividade; // Estado após a edição; null em exclusões e falhas
+
+    public static ResultadoEscrita sucesso(AtividadeResponse atividade) {
+        return new ResultadoEscrita(Status.SUCESSO, atividade);
+    }
+}
@@ -0,0 +1,61 @@
+package com.projetochamada.atividade.service;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Sequência global de alterações usada pela sincronização incremental. Cada escrita recebe o próximo valor
+// dentro da sua transação. Como as transações não confirmam necessariamente na ordem dos números, os valores
+// ainda não confirmados ficam registrados e /changes só lê até antes do menor deles; assim um cursor nunca
+// passa por cima de uma alteração que ainda vai aparecer.
+// Eager mesmo com lazy-initialization: o contador é semeado a partir do banco antes de qualquer escrita
+@Component
+@Lazy(false)
+public class SequenciaAlteracoes implements SmartInitializingSingleton {
+
+    private final AtomicLong ultimo = new AtomicLong();
+    private final ConcurrentSkipListSet<Long> emAndamento = new ConcurrentSkipListSet<>();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SequenciaAlteracoes(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Linhas de antes da coluna existir recebem o próprio id (único e menor que tudo o que vier depois)
+    @Override
+    public void afterSingletonsInstantiated() {
+        jdbcTemplate.update("UPDATE atividades SET alteracao_seq = id WHERE alteracao_seq IS NULL");
+        Long maior = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(alteracao_seq), 0) FROM atividades", Long.class);
+        ultimo.set(maior == null ? 0L : maior);
+    }
+
+    // Precisa ser chamado dentro de uma transação: o valor sai de emAndamento quando ela termina (commit ou rollback)
+    public long proxima() {
+        long seq;
+        // Incremento e registro juntos: limiteConfirmado nunca vê um valor gerado que ainda não está em emAndamento
+        synchronized (this) {
+            seq = ultimo.incrementAndGet();
+            emAndamento.add(seq);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                emAndamento.remove(seq);
+            }
+        });
+        return seq;
+    }
+
+    // Maior valor até o qual todas as alterações já estão confirmadas
+    public synchronized long limiteConfirmado() {
+        long atual = ultimo.get();
+        return emAndamento.isEmpty() ? atual : emAndamento.first() - 1;
+    }
+}
@@ -0,0 +1,222 @@
+package com.projetochamada.atividade.stream;
+
+import com.projetochamada.atividade.dto.AtividadeEventoResponse;
+import com.projetochamada.atividade.event.AtividadeAlteradaEvent;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Distribui as alterações confirmadas para as conexões de GET /atividades/stream.
+// Uma conexão ociosa é só um SseEmitter e uma fila vazia: nenhuma thread fica presa a ela. Os envios são feitos
+// por um pool pequeno, que só é acionado quando a fila do assinante tem algo para mandar.
+@Component
+public class AtividadeStreamHub implements DisposableBean {
+
+    static final String EVENTO_RESYNC = "resync";
+
+    private record Evento(long seq, AtividadeEventoResponse corpo) {
+    }
+
+    // Cada assinante tem uma fila limitada. Se ela enche (cliente lento), a fila é descartada e o cliente recebe
+    // um "resync" para recarregar a listagem, em vez de o servidor acumular eventos sem limite
+    private static final class Assinante {
+        final SseEmitter emitter;
+        final Long professorId;
+        final ArrayBlockingQueue<Evento> fila;
+        final AtomicBoolean agendado = new AtomicBoolean();
+        final AtomicLong resyncAte = new AtomicLong(-1);
+        final AtomicBoolean heartbeat = new AtomicBoolean();
+
+        Assinante(SseEmitter emitter, Long professorId, int capacidade) {
+            this.emitter = emitter;
+            this.professorId = professorId;
+            this.fila = new ArrayBlockingQueue<>(capacidade);
+        }
+
+        boolean aceita(Evento evento) {
+            return professorId == null || professorId.equals(evento.corpo().getProfessorId());
+        }
+
+        void enfileirar(Evento evento) {
+            if (!fila.offer(evento)) {
+                fila.clear();
+                resyncAte.accumulateAndGet(evento.seq(), Math::max);
+            }
+        }
+    }
+
+    // Buffer circular com os últimos eventos, usado para o replay a partir do Last-Event-ID
+    private final Evento[] historico;
+    private long ultimoSeq;
+    private final Object lock = new Object();
+
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+    private final int capacidadeFila;
+    private final long timeoutMillis;
+    private final ExecutorService envios;
+    private final ScheduledExecutorService heartbeats;
+
+    public AtividadeStreamHub(@Value("${atividades.stream.replay-size:1024}") int replaySize,
+                              @Value("${atividades.stream.buffer-size:256}") int bufferSize,
+                              @Value("${atividades.stream.timeout:30m}") Duration timeout,
+                              @Value("${atividades.stream.heartbeat:30s}") Duration heartbeat,
+                              @Value("${atividades.stream.threads:4}") int threads,
+                              @Value("${spring.threads.virtual.enabled:false}") boolean threadsVirtuais) {
+        this.historico = new Evento[replaySize];
+        this.capacidadeFila = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        // No modo de threads virtuais cada envio ganha a sua thread; o agendamento por assinante já garante a ordem
+        if (threadsVirtuais) {
+            this.envios = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("atividades-stream-", 1).factory());
+        } else {
+            AtomicInteger contador = new AtomicInteger();
+            this.envios = Executors.newFixedThreadPool(threads, r -> {
+                Thread thread = new Thread(r, "atividades-stream-" + contador.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "atividades-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Comentário periódico para proxies não derrubarem a conexão e para detectar clientes que já saíram
+        this.heartbeats.scheduleAtFixedRate(this::enviarHeartbeats,
+                heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // professorId null recebe todas as atividades. ultimoEventoId vem do header Last-Event-ID da reconexão
+    public SseEmitter assinar(Long professorId, Long ultimoEventoId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Assinante assinante = new Assinante(emitter, professorId, capacidadeFila);
+        emitter.onCompletion(() -> assinantes.remove(assinante));
+        emitter.onTimeout(() -> assinantes.remove(assinante));
+        emitter.onError(e -> assinantes.remove(assinante));
+
+        // Replay e registro sob o mesmo lock da publicação: nenhum evento fica entre os dois nem chega duplicado
+        synchronized (lock) {
+            if (ultimoEventoId != null) {
+                long maisAntigo = Math.max(1, ultimoSeq - historico.length + 1);
+                if (ultimoEventoId > ultimoSeq || ultimoEventoId < maisAntigo - 1) {
+                    // Id de antes do que o buffer guarda (ou de outra execução do serviço): não dá para completar
+                    assinante.resyncAte.set(ultimoSeq);
+                } else {
+                    for (long seq = ultimoEventoId + 1; seq <= ultimoSeq; seq++) {
+                        Evento evento = historico[(int) (seq % historico.length)];
+                        if (assinante.aceita(evento)) {
+                            assinante.enfileirar(evento);
+                        }
+                    }
+                }
+            }
+            assinantes.add(assinante);
+        }
+        agendar(assinante);
+        return emitter;
+    }
+
+    public int assinantesAtivos() {
+        return assinantes.size();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void aoAlterarAtividade(AtividadeAlteradaEvent evento) {
+        AtividadeEventoResponse corpo = new AtividadeEventoResponse(evento.getTipo(), evento.getId(),
+                evento.getProfessorId(), evento.getAtividade());
+        synchronized (lock) {
+            Evento publicado = new Evento(++ultimoSeq, corpo);
+            historico[(int) (publicado.seq() % historico.length)] = publicado;
+            for (Assinante assinante : assinantes) {
+                if (assinante.aceita(publicado)) {
+                    assinante.enfileirar(publicado);
+                    agendar(assinante);
+                }
+            }
+        }
+    }
+
+    // No máximo um envio em andamento por assinante, o que também mantém a ordem dos eventos
+    private void agendar(Assinante assinante) {
+        if (assinante.fila.isEmpty() && assinante.resyncAte.get() < 0 && !assinante.heartbeat.get()) {
+            return;
+        }
+        if (assinante.agendado.compareAndSet(false, true)) {
+            try {
+                envios.execute(() -> drenar(assinante));
+            } catch (RejectedExecutionException e) {
+                assinante.agendado.set(false); // Pool encerrado no desligamento
+            }
+        }
+    }
+
+    private void drenar(Assinante assinante) {
+        try {
+            while (true) {
+                long resync = assinante.resyncAte.getAndSet(-1);
+                if (resync >= 0) {
+                    assinante.emitter.send(SseEmitter.event()
+                            .id(Long.toString(resync))
+                            .name(EVENTO_RESYNC)
+                            .data("{}", MediaType.APPLICATION_JSON));
+                }
+                if (assinante.heartbeat.getAndSet(false)) {
+                    assinante.emitter.send(SseEmitter.event().comment(""));
+                }
+                Evento evento = assinante.fila.poll();
+                if (evento == null) {
+                    break;
+                }
+                assinante.emitter.send(SseEmitter.event()
+                        .id(Long.toString(evento.seq()))
+                        .name(evento.corpo().getTipo().name().toLowerCase(Locale.ROOT))
+                        .data(evento.corpo(), MediaType.APPLICATION_JSON));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectou ou o emitter já foi concluído
+            assinantes.remove(assinante);
+            assinante.fila.clear();
+            return;
+        } finally {
+            assinante.agendado.set(false);
+        }
+        // Algo pode ter chegado entre o último poll e a liberação do agendamento
+        agendar(assinante);
+    }
+
+    private void enviarHeartbeats() {
+        for (Assinante assinante : assinantes) {
+            assinante.heartbeat.set(true);
+            agendar(assinante);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        heartbeats.shutdownNow();
+        envios.shutdownNow();
+        for (Assinante assinante : assinantes) {
+            assinante.emitter.complete();
+        }
+        assinantes.clear();
+    }
+}
@@ -0,0 +1,11 @@
+-- Tabela original, como o ddl-auto=update criava antes das migrações. Bancos existentes já a têm e entram na
+-- versão 1 pelo baseline (spring.flyway.baseline-on-migrate), sem executar este script
+create table atividades (
+    id bigint generated by default as identity,
+    titulo varchar(255) not null,
+    descricao text not null,
+    data_criacao timestamp(6) not null,
+    data_entrega timestamp(6),
+    professor_id bigint not null,
+    primary key (id)
+);
@@ -0,0 +1,23 @@
+-- Alterações feitas sobre a tabela original. "if not exists" porque bancos atualizados pelo ddl-auto=update
+-- podem já ter parte delas
+
+-- Ids por sequência com pool de 50 (Atividade.ID_ALLOCATION_SIZE), começando depois do maior id existente com a
+-- folga de um bloco inteiro (com pool, o valor da sequência pode ser o limite superior do bloco). Roda uma vez, na
+-- migração; depois disso só a sequência gera ids
+create sequence if not exists atividades_seq start with 1 increment by 50;
+alter sequence atividades_seq restart with (
+    select case when max(id) is null then 1 else max(id) + 51 end from atividades);
+alter table atividades alter column id drop identity;
+
+-- Last-Modified, ETag e If-Match
+alter table atividades add column if not exists data_atualizacao timestamp(6);
+alter table atividades add column if not exists versao bigint default 0 not null;
+
+-- Sincronização incremental (GET /atividades/changes) e tombstones de exclusão
+alter table atividades add column if not exists alteracao_seq bigint;
+alter table atividades add column if not exists excluida_em timestamp(6);
+update atividades set alteracao_seq = id where alteracao_seq is null;
+
+create index if not exists idx_atividades_professor_entrega on atividades (professor_id, data_entrega, id);
+create index if not exists idx_atividades_entrega on atividades (data_entrega, id);
+create index if not exists idx_atividades_alteracao on atividades (alteracao_seq);
@@ -0,0 +1,155 @@
+package com.projetochamada.atividade;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projetochamada.atividade.dto.AtividadeRequest;
+import com.projetochamada.atividade.service.AtividadeService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Negociação de formato (JSON, CBOR, Smile) e compressão do Tomcat, que só vale se nada na resposta a impedir,
+// como um ETag forte
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:compressao;DB_CLOSE_DELAY=-1")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FormatosRespostaTest {
+
+    @LocalServerPort
+    private int porta;
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    @Autowired
+    private AtividadeService atividadeService;
+
+    private final HttpClient cliente = HttpClient.newHttpClient();
+
+    @BeforeAll
+    void popular() {
+        List<AtividadeRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            requests.add(new AtividadeRequest("Atividade " + i, "Descrição da atividade " + i,
+                    LocalDateTime.now().plusDays(i)));
+        }
+        atividadeService.criarAtividadesEmLote(requests, 1L);
+    }
+
+    @Test
+    void listagemGrandeSaiComGzip() throws Exception {
+        HttpResponse<byte[]> resposta = listar("application/json", null);
+
+        assertThat(resposta.statusCode()).isEqualTo(200);
+        assertThat(resposta.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(resposta.headers().firstValue("ETag")).hasValueSatisfying(etag -> assertThat(etag).startsWith("W/"));
+    }
+
+    @Test
+    void listagemSemParametrosDevolveSoAPrimeiraPagina() throws Exception {
+        HttpResponse<byte[]> resposta = cliente.send(HttpRequest.newBuilder(URI.create(base() + "/atividades"))
+                .header("Authorization", "Bearer " + token())
+                .header("Accept", "application/json")
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+
+        JsonNode pagina = new ObjectMapper().readTree(resposta.body());
+        assertThat(pagina.get("itens")).hasSize(AtividadeService.LIMITE_PADRAO);
+        assertThat(pagina.get("proximoCursor").asLong())
+                .isEqualTo(pagina.get("itens").get(AtividadeService.LIMITE_PADRAO - 1).get("id").asLong());
+    }
+
+    @Test
+    void etagFracoContinuaValendoNoIfNoneMatch() throws Exception {
+        String etag = listar("application/cbor", null).headers().firstValue("ETag").orElseThrow();
+
+        assertThat(listar("application/cbor", etag).statusCode()).isEqualTo(304);
+        assertThat(listar("application/json", etag).statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    void etagDaAtividadeMudaComOFormato() throws Exception {
+        Long id = atividadeService.listarAtividadesPaginadas(null, 2).getItens().get(0).getId();
+
+        HttpResponse<byte[]> json = buscar(id, "application/json", null);
+        HttpResponse<byte[]> cbor = buscar(id, "application/cbor", null);
+
+        assertThat(json.headers().firstValue("Content-Type")).hasValueSatisfying(tipo -> assertThat(tipo).startsWith("application/json"));
+        assertThat(cbor.headers().firstValue("Content-Type")).hasValue("application/cbor");
+        assertThat(json.headers().allValues("Vary")).anySatisfy(vary -> assertThat(vary).contains("Accept"));
+        assertThat(cbor.headers().allValues("Vary")).anySatisfy(vary -> assertThat(vary).contains("Accept"));
+        String etagCbor = cbor.headers().firstValue("ETag").orElseThrow();
+        assertThat(json.headers().firstValue("ETag")).isNotEqualTo(cbor.headers().firstValue("ETag"));
+        assertThat(buscar(id, "application/cbor", etagCbor).statusCode()).isEqualTo(304);
+        assertThat(buscar(id, "application/json", etagCbor).statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    void ifMatchAceitaEtagDeQualquerFormato() throws Exception {
+        Long id = atividadeService.listarAtividadesPaginadas(null, 2).getItens().get(1).getId();
+        String etagCbor = buscar(id, "application/cbor", null).headers().firstValue("ETag").orElseThrow();
+
+        HttpResponse<byte[]> resposta = cliente.send(HttpRequest.newBuilder(URI.create(base() + "/atividades/" + id))
+                .header("Authorization", "Bearer " + token())
+                .header("Content-Type", "application/json")
+                .header("If-Match", etagCbor)
+                .PUT(HttpRequest.BodyPublishers.ofString("{\"titulo\":\"Editada\",\"descricao\":\"Nova descrição\"}"))
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(resposta.statusCode()).isEqualTo(200);
+    }
+
+    private HttpResponse<byte[]> buscar(Long id, String accept, String ifNoneMatch) throws IOException, InterruptedException {
+        HttpRequest.Builder requisicao = HttpRequest.newBuilder(URI.create(base() + "/atividades/" + id))
+                .header("Authorization", "Bearer " + token())
+                .header("Accept", accept);
+        if (ifNoneMatch != null) {
+            requisicao.header("If-None-Match", ifNoneMatch);
+        }
+        return cliente.send(requisicao.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private HttpResponse<byte[]> listar(String accept, String ifNoneMatch) throws IOException, InterruptedException {
+        HttpRequest.Builder requisicao = HttpRequest.newBuilder(URI.create(base() + "/atividades"))
+                .header("Authorization", "Bearer " + token())
+                .header("Accept", accept)
+                .header("Accept-Encoding", "gzip");
+        if (ifNoneMatch != null) {
+            requisicao.header("If-None-Match", ifNoneMatch);
+        }
+        return cliente.send(requisicao.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private String base() {
+        return "http://localhost:" + porta;
+    }
+
+    private String token() {
+        return Jwts.builder()
+                .subject("professor1")
+                .claim("userId", 1L)
+                .claim("roles", List.of("ROLE_PROFESSOR"))
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret)))
+                .compact();
+    }
+}
@@ -0,0 +1,65 @@
+package com.projetochamada.atividade.cache;
+
+import com.projetochamada.atividade.dto.AtividadeResponse;
+import com.projetochamada.atividade.event.AtividadeAlteradaEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Os eventos de dois commits concorrentes podem ser entregues em qualquer ordem; o cache tem de terminar igual
+class AtividadeCacheTest {
+
+    private final AtomicInteger leiturasNoBanco = new AtomicInteger();
+    private final Function<Long, AtividadeResponse> banco = id -> {
+        leiturasNoBanco.incrementAndGet();
+        return null;
+    };
+
+    @Test
+    void edicaoEExclusaoEmQualquerOrdemTerminamExcluidas() {
+        AtividadeAlteradaEvent edicao = AtividadeAlteradaEvent.atualizada(atividade("Editada", 1L));
+        AtividadeAlteradaEvent exclusao = AtividadeAlteradaEvent.excluida(1L, 7L, 2L);
+
+        for (List<AtividadeAlteradaEvent> ordem : List.of(List.of(edicao, exclusao), List.of(exclusao, edicao))) {
+            AtividadeCache cache = cacheCom(atividade("Original", 0L));
+            ordem.forEach(cache::aoAlterarAtividade);
+
+            assertTrue(cache.obter(1L, banco).isEmpty(), "ordem " + ordem.get(0).getTipo());
+        }
+        // O tombstone responde sem consultar o banco
+        assertEquals(0, leiturasNoBanco.get());
+    }
+
+    @Test
+    void duasEdicoesEmQualquerOrdemFicamComAMaisNova() {
+        AtividadeAlteradaEvent primeira = AtividadeAlteradaEvent.atualizada(atividade("Primeira edição", 1L));
+        AtividadeAlteradaEvent segunda = AtividadeAlteradaEvent.atualizada(atividade("Segunda edição", 2L));
+
+        for (List<AtividadeAlteradaEvent> ordem : List.of(List.of(primeira, segunda), List.of(segunda, primeira))) {
+            AtividadeCache cache = cacheCom(atividade("Original", 0L));
+            ordem.forEach(cache::aoAlterarAtividade);
+
+            Optional<AtividadeResponse> emCache = cache.obter(1L, banco);
+            assertEquals("Segunda edição", emCache.orElseThrow().getTitulo());
+            assertEquals(2L, emCache.orElseThrow().getVersao());
+        }
+        assertEquals(0, leiturasNoBanco.get());
+    }
+
+    private static AtividadeCache cacheCom(AtividadeResponse atividade) {
+        AtividadeCache cache = new AtividadeCache(100, Duration.ofMinutes(10));
+        cache.obter(atividade.getId(), id -> atividade);
+        return cache;
+    }
+
+    private static AtividadeResponse atividade(String titulo, Long versao) {
+        return new AtividadeResponse(1L, titulo, "Enunciado", null, null, 7L, null, versao);
+    }
+}
@@ -0,0 +1,55 @@
+package com.projetochamada.atividade.index;
+
+import com.projetochamada.atividade.dto.AtividadeResponse;
+import com.projetochamada.atividade.dto.AtividadeResumoResponse;
+import com.projetochamada.atividade.event.AtividadeAlteradaEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BuscaIndexTest {
+
+    private final BuscaIndex index = new BuscaIndex(null, null);
+
+    @Test
+    void termoNoTituloPesaMaisQueNaDescricao() {
+        index.indexar(atividade(1L, "Lista de exercícios", "Capítulo sobre a Revolução Francesa", 0L));
+        index.indexar(atividade(2L, "Revolução Francesa", "Leitura do capítulo", 0L));
+        index.indexar(atividade(3L, "Relatório de laboratório", "Experimento de química", 0L));
+
+        assertEquals(List.of(2L, 1L), ids(index.buscar("revolucao", 10)));
+        assertEquals(List.of(2L), ids(index.buscar("revolução", 1)));
+    }
+
+    @Test
+    void edicaoTrocaOsTermosIndexados() {
+        index.indexar(atividade(1L, "Revolução Francesa", "Leitura do capítulo", 0L));
+        index.aoAlterarAtividade(AtividadeAlteradaEvent.atualizada(
+                atividade(1L, "Revolução Industrial", "Leitura do capítulo", 1L)));
+
+        assertEquals(List.of(), ids(index.buscar("francesa", 10)));
+        assertEquals(List.of(1L), ids(index.buscar("industrial", 10)));
+        assertEquals(1, index.tamanho());
+    }
+
+    @Test
+    void exclusaoTiraSoAAtividadeExcluida() {
+        index.indexar(atividade(1L, "Revolução Francesa", "Leitura do capítulo", 0L));
+        index.indexar(atividade(2L, "Revolução Industrial", "Leitura do capítulo", 0L));
+        index.aoAlterarAtividade(AtividadeAlteradaEvent.excluida(1L, 7L, 1L));
+
+        assertEquals(List.of(2L), ids(index.buscar("revolução capítulo", 10)));
+        assertEquals(List.of(), ids(index.buscar("francesa", 10)));
+        assertEquals(1, index.tamanho());
+    }
+
+    private static List<Long> ids(List<AtividadeResumoResponse> resumos) {
+        return resumos.stream().map(AtividadeResumoResponse::getId).toList();
+    }
+
+    private static AtividadeResponse atividade(Long id, String titulo, String descricao, Long versao) {
+        return new AtividadeResponse(id, titulo, descricao, null, null, 7L, null, versao);
+    }
+}
@@ -0,0 +1,65 @@
+package com.projetochamada.atividade.index;
+
+import com.projetochamada.atividade.dto.AtividadeResponse;
+import com.projetochamada.atividade.dto.ContagemPrazoResponse;
+import com.projetochamada.atividade.event.AtividadeAlteradaEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EstatisticasIndexTest {
+
+    private final EstatisticasIndex index = new EstatisticasIndex(null, null);
+    private final LocalDateTime agora = LocalDateTime.now();
+
+    @Test
+    void contaCadaFaixaPorProfessorENoGeral() {
+        criar(1L, 7L, agora.minusDays(1));
+        criar(2L, 7L, agora.plusDays(3));
+        criar(3L, 7L, agora.plusDays(30));
+        criar(4L, 7L, null);
+        criar(5L, 8L, agora.plusDays(3));
+
+        assertEquals(new ContagemPrazoResponse(7L, 4L, 1L, 1L, 1L, 1L), contagem(7L));
+        assertEquals(new ContagemPrazoResponse(8L, 1L, 0L, 1L, 0L, 0L), contagem(8L));
+        assertEquals(new ContagemPrazoResponse(null, 5L, 1L, 2L, 1L, 1L), index.estatisticas(null).getGeral());
+    }
+
+    @Test
+    void rolagemMoveAsAtividadesQueCruzaramUmaFronteira() {
+        criar(1L, 7L, agora.plusDays(3));
+        criar(2L, 7L, agora.plusDays(10));
+
+        index.rolar(agora.plusDays(4));
+
+        assertEquals(new ContagemPrazoResponse(7L, 2L, 1L, 1L, 0L, 0L), contagem(7L));
+    }
+
+    @Test
+    void edicaoTrocaDeFaixaEExclusaoDesconta() {
+        criar(1L, 7L, agora.plusDays(30));
+        criar(2L, 7L, agora.plusDays(30));
+        index.aoAlterarAtividade(AtividadeAlteradaEvent.atualizada(atividade(1L, 7L, agora.minusDays(1), 1L)));
+        index.aoAlterarAtividade(AtividadeAlteradaEvent.excluida(2L, 7L, 1L));
+
+        assertEquals(new ContagemPrazoResponse(7L, 1L, 1L, 0L, 0L, 0L), contagem(7L));
+
+        // A rolagem não volta a contar a excluída
+        index.rolar(agora.plusDays(40));
+        assertEquals(new ContagemPrazoResponse(7L, 1L, 1L, 0L, 0L, 0L), contagem(7L));
+    }
+
+    private void criar(Long id, Long professorId, LocalDateTime dataEntrega) {
+        index.aoAlterarAtividade(AtividadeAlteradaEvent.criada(atividade(id, professorId, dataEntrega, 0L)));
+    }
+
+    private ContagemPrazoResponse contagem(Long professorId) {
+        return index.estatisticas(professorId).getProfessores().get(0);
+    }
+
+    private static AtividadeResponse atividade(Long id, Long professorId, LocalDateTime dataEntrega, Long versao) {
+        return new AtividadeResponse(id, "Lista " + id, "Exercícios", null, dataEntrega, professorId, null, versao);
+    }
+}
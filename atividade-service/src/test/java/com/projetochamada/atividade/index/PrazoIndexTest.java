@@ -0,0 +1,65 @@
+package com.projetochamada.atividade.index;
+
+import com.projetochamada.atividade.dto.AtividadeResponse;
+import com.projetochamada.atividade.dto.AtividadeResumoResponse;
+import com.projetochamada.atividade.event.AtividadeAlteradaEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PrazoIndexTest {
+
+    private static final LocalDateTime SEGUNDA = LocalDateTime.of(2026, 3, 9, 23, 59);
+
+    private final PrazoIndex index = new PrazoIndex(null, null);
+
+    @Test
+    void faixaSaiEmOrdemDePrazoComLimitesInclusivos() {
+        criar(3L, SEGUNDA.plusDays(2));
+        criar(1L, SEGUNDA);
+        criar(2L, SEGUNDA);
+        criar(4L, SEGUNDA.plusDays(3));
+        criar(5L, null);
+
+        assertEquals(List.of(1L, 2L, 3L), ids(index.buscarPorPrazo(SEGUNDA, SEGUNDA.plusDays(2), 10)));
+        assertEquals(List.of(1L, 2L), ids(index.buscarPorPrazo(SEGUNDA, SEGUNDA.plusDays(3), 2)));
+        assertEquals(4, index.tamanho());
+    }
+
+    @Test
+    void edicaoDoPrazoMudaAPosicao() {
+        criar(1L, SEGUNDA);
+        criar(2L, SEGUNDA.plusDays(1));
+        index.aoAlterarAtividade(AtividadeAlteradaEvent.atualizada(atividade(1L, SEGUNDA.plusDays(2), 1L)));
+
+        assertEquals(List.of(2L, 1L), ids(index.buscarPorPrazo(SEGUNDA, SEGUNDA.plusDays(2), 10)));
+        assertEquals(2, index.tamanho());
+    }
+
+    @Test
+    void atividadeSemPrazoOuExcluidaSaiDoIndice() {
+        criar(1L, SEGUNDA);
+        criar(2L, SEGUNDA);
+        index.aoAlterarAtividade(AtividadeAlteradaEvent.atualizada(atividade(1L, null, 1L)));
+        index.aoAlterarAtividade(AtividadeAlteradaEvent.excluida(2L, 7L, 1L));
+
+        assertEquals(List.of(), index.buscarPorPrazo(SEGUNDA.minusDays(1), SEGUNDA.plusDays(1), 10));
+        assertEquals(0, index.tamanho());
+    }
+
+    private void criar(Long id, LocalDateTime dataEntrega) {
+        index.aoAlterarAtividade(AtividadeAlteradaEvent.criada(atividade(id, dataEntrega, 0L)));
+    }
+
+    private static List<Long> ids(List<AtividadeResumoResponse> resumos) {
+        return resumos.stream().map(AtividadeResumoResponse::getId).toList();
+    }
+
+    private static AtividadeResponse atividade(Long id, LocalDateTime dataEntrega, Long versao) {
+        return new AtividadeResponse(id, "Lista " + id, "Exercícios", SEGUNDA.minusDays(5), dataEntrega, 7L,
+                null, versao);
+    }
+}
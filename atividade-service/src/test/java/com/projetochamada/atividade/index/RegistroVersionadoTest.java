@@ -0,0 +1,92 @@
+package com.projetochamada.atividade.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RegistroVersionadoTest {
+
+    private final AtomicLong relogio = new AtomicLong();
+    private final RegistroVersionado<String> registro = new RegistroVersionado<>(relogio::get, Duration.ofMinutes(10));
+    private final List<String> removidos = new ArrayList<>();
+
+    @Test
+    void alteracaoAtrasadaEhDescartada() {
+        registro.aplicar(1L, 2L, anterior -> "v2");
+        registro.aplicar(1L, 1L, anterior -> "v1");
+
+        assertEquals("v2", registro.valor(1L));
+    }
+
+    @Test
+    void alteracaoRecebeOValorAnterior() {
+        registro.aplicar(1L, 1L, anterior -> "v1");
+        registro.aplicar(1L, 2L, anterior -> anterior + "+v2");
+
+        assertEquals("v1+v2", registro.valor(1L));
+    }
+
+    @Test
+    void alteracaoAtrasadaNaoRessuscitaExcluida() {
+        registro.aplicar(1L, 0L, anterior -> "v0");
+        registro.excluir(1L, 2L, removidos::add);
+        registro.aplicar(1L, 1L, anterior -> "v1");
+
+        assertNull(registro.valor(1L));
+        assertEquals(List.of("v0"), removidos);
+        assertEquals(0, registro.tamanho());
+    }
+
+    @Test
+    void exclusaoAtrasadaNaoRemoveVersaoMaisNova() {
+        registro.aplicar(1L, 3L, anterior -> "v3");
+        registro.excluir(1L, 2L, removidos::add);
+
+        assertEquals("v3", registro.valor(1L));
+        assertEquals(List.of(), removidos);
+        assertEquals(1, registro.tamanho());
+    }
+
+    @Test
+    void valorNullTiraDoIndiceMasGuardaAVersao() {
+        registro.aplicar(1L, 1L, anterior -> "v1");
+        registro.aplicar(1L, 3L, anterior -> null);
+        registro.aplicar(1L, 2L, anterior -> "v2");
+
+        assertNull(registro.valor(1L));
+        assertEquals(0, registro.tamanho());
+    }
+
+    @Test
+    void tombstoneEhDescartadoDepoisDaRetencao() {
+        registro.excluir(1L, 2L, removidos::add);
+        relogio.addAndGet(Duration.ofMinutes(9).toNanos());
+        registro.aplicar(2L, 0L, anterior -> "outra");
+        registro.aplicar(1L, 1L, anterior -> "v1");
+        assertNull(registro.valor(1L));
+
+        // Passada a retenção, a próxima escrita descarta o tombstone; um evento tão atrasado já não é esperado
+        relogio.addAndGet(Duration.ofMinutes(2).toNanos());
+        registro.aplicar(2L, 1L, anterior -> "outra");
+        registro.aplicar(1L, 1L, anterior -> "v1");
+        assertEquals("v1", registro.valor(1L));
+    }
+
+    @Test
+    void alterarMantemAVersaoENaoTocaEmQuemSaiuDoIndice() {
+        registro.aplicar(1L, 2L, anterior -> "v2");
+        registro.alterar(1L, atual -> atual + " reclassificada");
+        registro.aplicar(1L, 1L, anterior -> "v1");
+        registro.excluir(3L, 1L, removidos::add);
+        registro.alterar(3L, atual -> "não deveria");
+
+        assertEquals("v2 reclassificada", registro.valor(1L));
+        assertNull(registro.valor(3L));
+    }
+}
@@ -0,0 +1,180 @@
+package com.projetochamada.atividade.repository;
+
+import com.projetochamada.atividade.dto.AtividadeResumoResponse;
+import com.projetochamada.atividade.dto.ContagemPrazoResponse;
+import com.projetochamada.atividade.index.EstatisticasIndex;
+import com.projetochamada.atividade.model.Atividade;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(ConsultasExecutadas.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AtividadeRepositoryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 1, 8, 0);
+
+    @Autowired
+    private AtividadeRepository atividadeRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ConsultasExecutadas consultasExecutadas;
+
+    // Carregadas uma vez, fora da transação dos testes: o ANALYZE do H2 faz commit, então dentro dela as linhas
+    // escapariam do rollback e se acumulariam a cada teste. Cada teste continua com rollback das próprias alterações
+    @BeforeAll
+    void popular() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            List<Atividade> atividades = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                Atividade atividade = new Atividade();
+                atividade.setTitulo("Atividade " + i);
+                atividade.setDescricao("Descrição da atividade " + i);
+                atividade.setDataCriacao(BASE);
+                atividade.setDataAtualizacao(BASE);
+                // Cada professor tem pares de atividades com o mesmo prazo, para exercitar o desempate por id no keyset
+                atividade.setDataEntrega(BASE.plusHours(i / 20));
+                atividade.setProfessorId((long) (i % 10));
+                atividade.setAlteracaoSeq((long) i + 1);
+                atividades.add(atividade);
+            }
+            atividadeRepository.saveAll(atividades);
+            entityManager.flush();
+            entityManager.getEntityManager().createNativeQuery("ANALYZE").executeUpdate();
+        });
+    }
+
+    // Nativo para levar também os tombstones, que o @SQLRestriction esconde das consultas JPQL
+    @AfterAll
+    void limpar() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                entityManager.getEntityManager().createNativeQuery("DELETE FROM atividades").executeUpdate());
+    }
+
+    @Test
+    void filtroPorProfessorEPrazoUsaIndiceComposto() {
+        String plano = explain(() -> atividadeRepository.listarPorProfessorEPrazo(
+                3L, BASE.plusDays(1), BASE.plusDays(4), 0L, PageRequest.ofSize(50)));
+
+        assertThat(plano)
+                .containsIgnoringCase("IDX_ATIVIDADES_PROFESSOR_ENTREGA")
+                .doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    void filtroSoPorPrazoUsaIndiceDeEntrega() {
+        String plano = explain(() -> atividadeRepository.listarResumosPorPrazo(
+                BASE.plusDays(1), BASE.plusDays(2), 0L, PageRequest.ofSize(50)));
+
+        assertThat(plano)
+                .containsIgnoringCase("IDX_ATIVIDADES_ENTREGA")
+                .doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    void alteracoesDesdeCursorUsamIndiceDeAlteracao() {
+        String plano = explain(() -> atividadeRepository.listarAlteracoes(400L, 450L, 51));
+
+        assertThat(plano)
+                .containsIgnoringCase("IDX_ATIVIDADES_ALTERACAO")
+                .doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    void exclusaoViraTombstoneVisivelSoNasAlteracoes() {
+        Atividade atividade = atividadeRepository.listarAlteracoes(0L, 1L, 1).get(0);
+
+        Optional<Long> versao = atividadeRepository.excluirSeProprietario(atividade.getId(),
+                atividade.getProfessorId(), 501L, BASE.plusDays(1));
+        entityManager.clear();
+
+        assertThat(versao).contains(atividade.getVersao() + 1);
+        assertThat(atividadeRepository.findById(atividade.getId())).isEmpty();
+        assertThat(atividadeRepository.count()).isEqualTo(499);
+        assertThat(atividadeRepository.listarAlteracoes(500L, 501L, 10))
+                .singleElement()
+                .satisfies(tombstone -> {
+                    assertThat(tombstone.getId()).isEqualTo(atividade.getId());
+                    assertThat(tombstone.getExcluidaEm()).isNotNull();
+                });
+    }
+
+    @Test
+    void keysetPorPrazoPercorreAsAtividadesDoProfessorSemRepetir() {
+        LocalDateTime inicio = BASE;
+        long cursorId = 0L;
+        List<AtividadeResumoResponse> percorridas = new ArrayList<>();
+
+        List<AtividadeResumoResponse> pagina;
+        do {
+            pagina = atividadeRepository.listarResumosPorProfessorEPrazo(
+                    4L, inicio, BASE.plusYears(1), cursorId, PageRequest.ofSize(7));
+            percorridas.addAll(pagina);
+            if (!pagina.isEmpty()) {
+                AtividadeResumoResponse ultima = pagina.get(pagina.size() - 1);
+                inicio = ultima.getDataEntrega();
+                cursorId = ultima.getId();
+            }
+        } while (pagina.size() == 7);
+
+        assertThat(percorridas).hasSize(50);
+        assertThat(percorridas).extracting(AtividadeResumoResponse::getId).doesNotHaveDuplicates();
+        assertThat(percorridas).isSortedAccordingTo(Comparator
+                .comparing(AtividadeResumoResponse::getDataEntrega)
+                .thenComparing(AtividadeResumoResponse::getId));
+    }
+
+    @Test
+    void contagemPorProfessorEPrazoSeparaAsFaixas() {
+        // Prazos de BASE a BASE+24h: as 200 primeiras vencem antes de BASE+10h, o resto cai nos 7 dias seguintes
+        LocalDateTime agora = BASE.plusHours(10);
+
+        List<ContagemPrazoResponse> contagens = atividadeRepository.contarPorProfessorEPrazo(agora, agora.plusDays(7));
+
+        assertThat(contagens).hasSize(10);
+        assertThat(contagens.get(3)).isEqualTo(new ContagemPrazoResponse(3L, 50L, 20L, 30L, 0L, 0L));
+    }
+
+    @Test
+    void estatisticasEmMemoriaConferemComGroupBy() {
+        EstatisticasIndex index = new EstatisticasIndex(atividadeRepository, transactionManager);
+        index.afterSingletonsInstantiated();
+
+        assertThat(index.reconciliar()).isZero();
+        assertThat(index.estatisticas(3L).getProfessores())
+                .containsExactly(new ContagemPrazoResponse(3L, 50L, 50L, 0L, 0L, 0L));
+        assertThat(index.estatisticas(null).getGeral().getTotal()).isEqualTo(500L);
+    }
+
+    // Executa a consulta do repositório e roda EXPLAIN sobre o SQL que o Hibernate enviou, com os mesmos parâmetros
+    private String explain(Runnable consulta) {
+        consultasExecutadas.limpar();
+        consulta.run();
+        ConsultasExecutadas.Consulta executada = consultasExecutadas.ultima();
+        return entityManager.getEntityManager().unwrap(Session.class).doReturningWork(executada::explain);
+    }
+}
@@ -0,0 +1,97 @@
+package com.projetochamada.atividade.repository;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Registra as consultas que o Hibernate envia ao banco, com os parâmetros ligados, para os testes rodarem EXPLAIN
+// sobre o SQL realmente gerado (com o @SQLRestriction, os aliases e o LIMIT do Hibernate) em vez de uma cópia
+class ConsultasExecutadas implements BeanPostProcessor {
+
+    record Consulta(String sql, Map<Integer, Object> parametros) {
+
+        // Mesma consulta e mesmos parâmetros, precedida de EXPLAIN, na conexão informada
+        String explain(Connection conexao) throws SQLException {
+            try (PreparedStatement explain = conexao.prepareStatement("EXPLAIN " + sql)) {
+                for (Map.Entry<Integer, Object> parametro : parametros.entrySet()) {
+                    explain.setObject(parametro.getKey(), parametro.getValue());
+                }
+                try (var plano = explain.executeQuery()) {
+                    plano.next();
+                    return plano.getString(1);
+                }
+            }
+        }
+    }
+
+    private final List<Consulta> consultas = new CopyOnWriteArrayList<>();
+
+    void limpar() {
+        consultas.clear();
+    }
+
+    Consulta ultima() {
+        return consultas.get(consultas.size() - 1);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, (alvo, metodo, args) -> {
+                Object resultado = invocar(dataSource, metodo, args);
+                return resultado instanceof Connection conexao ? conexao(conexao) : resultado;
+            });
+        }
+        return bean;
+    }
+
+    private Connection conexao(Connection conexao) {
+        return proxy(Connection.class, (alvo, metodo, args) -> {
+            Object resultado = invocar(conexao, metodo, args);
+            if (resultado instanceof PreparedStatement comando && metodo.getName().equals("prepareStatement")) {
+                return comando(comando, (String) args[0]);
+            }
+            return resultado;
+        });
+    }
+
+    // Guarda os setXxx(indice, valor) e registra a consulta quando ela é executada
+    private PreparedStatement comando(PreparedStatement comando, String sql) {
+        Map<Integer, Object> parametros = new TreeMap<>();
+        return proxy(PreparedStatement.class, (alvo, metodo, args) -> {
+            if (metodo.getName().startsWith("set") && args != null && args.length >= 2
+                    && args[0] instanceof Integer indice) {
+                parametros.put(indice, args[1]);
+            } else if (metodo.getName().equals("clearParameters")) {
+                parametros.clear();
+            } else if (metodo.getName().equals("executeQuery")) {
+                consultas.add(new Consulta(sql, new TreeMap<>(parametros)));
+            }
+            return invocar(comando, metodo, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> tipo, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(ConsultasExecutadas.class.getClassLoader(), new Class<?>[]{tipo}, handler);
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
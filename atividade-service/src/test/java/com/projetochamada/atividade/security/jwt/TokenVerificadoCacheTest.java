@@ -0,0 +1,101 @@
+package com.projetochamada.atividade.security.jwt;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenVerificadoCacheTest {
+
+    private static final String SECRET = "xv2OaezLoTRFpRo59g02BnoVQYZUUyW4GuMzPtrhU8g=";
+    private static final SecretKey CHAVE = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+
+    // Relógio controlado pelo teste, em milissegundos desde a época como o "exp" dos tokens
+    private final AtomicLong agora = new AtomicLong(System.currentTimeMillis());
+    private final AtomicInteger verificacoes = new AtomicInteger();
+    private final TokenVerificadoCache cache = new TokenVerificadoCache(100,
+            () -> TimeUnit.MILLISECONDS.toNanos(agora.get()));
+
+    // O parser usa o mesmo relógio do teste para decidir se o token venceu
+    private final JwtParser parser = Jwts.parser().verifyWith(CHAVE).clock(() -> new Date(agora.get())).build();
+    private final Function<String, TokenVerificado> verificador = token -> {
+        verificacoes.incrementAndGet();
+        return new TokenVerificado(parser.parseSignedClaims(token).getPayload());
+    };
+
+    @Test
+    void acertoDevolveOMesmoPrincipal() {
+        String token = token("professor1", 60_000);
+
+        TokenVerificado primeiro = cache.obter(token, verificador);
+        TokenVerificado segundo = cache.obter(token, verificador);
+
+        assertSame(primeiro, segundo);
+        assertSame(primeiro.getUserDetails(), segundo.getUserDetails());
+        assertEquals(1, verificacoes.get());
+    }
+
+    @Test
+    void tokenVencidoNaoSaiDoCache() {
+        String token = token("professor1", 60_000);
+        cache.obter(token, verificador);
+
+        agora.addAndGet(60_000);
+
+        // Sem a entrada em cache o token volta ao verificador, que recusa o "exp" vencido
+        assertThrows(ExpiredJwtException.class, () -> cache.obter(token, verificador));
+        assertEquals(2, verificacoes.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void tokenAdulteradoNuncaEntraNoCache() {
+        String token = token("professor1", 60_000);
+        cache.obter(token, verificador);
+
+        // Mesmo cabeçalho e assinatura do token válido, com outro payload
+        String[] partes = token.split("\\.");
+        String adulterado = partes[0] + "." + token("admin", 60_000).split("\\.")[1] + "." + partes[2];
+
+        assertThrows(SignatureException.class, () -> cache.obter(adulterado, verificador));
+        assertThrows(SignatureException.class, () -> cache.obter(adulterado, verificador));
+        assertEquals(3, verificacoes.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void capacidadeEhRespeitada() {
+        for (int i = 0; i < 1_000; i++) {
+            cache.obter(token("professor" + i, 60_000), verificador);
+        }
+
+        assertTrue(cache.size() <= 100, "entradas no cache: " + cache.size());
+    }
+
+    private String token(String usuario, long validadeMillis) {
+        return Jwts.builder()
+                .subject(usuario)
+                .claim("userId", 1L)
+                .claim("roles", List.of("ROLE_PROFESSOR"))
+                .issuedAt(new Date(agora.get()))
+                .expiration(new Date(agora.get() + validadeMillis))
+                .signWith(CHAVE)
+                .compact();
+    }
+}
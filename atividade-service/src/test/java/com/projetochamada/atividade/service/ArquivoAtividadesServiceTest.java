@@ -0,0 +1,92 @@
+package com.projetochamada.atividade.service;
+
+import com.projetochamada.atividade.dto.ResultadoImportacaoResponse;
+import com.projetochamada.atividade.model.Atividade;
+import com.projetochamada.atividade.repository.AtividadeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({ArquivoAtividadesService.class, SequenciaAlteracoes.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class ArquivoAtividadesServiceTest {
+
+    private static final long PROFESSOR_UPLOAD = 7L;
+    private static final long OUTRO_PROFESSOR = 99L;
+
+    @Autowired
+    private ArquivoAtividadesService arquivoService;
+
+    @Autowired
+    private AtividadeRepository atividadeRepository;
+
+    @Test
+    void importacaoNdjsonIgnoraProfessorDoArquivo() throws IOException {
+        String ndjson = """
+                {"titulo":"Do outro professor","descricao":"Enunciado","professorId":99}
+                {"titulo":"Sem professor","descricao":"Enunciado"}
+                """;
+
+        ResultadoImportacaoResponse resultado = importar(FormatoArquivo.NDJSON, ndjson);
+
+        assertThat(resultado.getImportadas()).isEqualTo(2);
+        assertThat(atividadeRepository.findByProfessorId(OUTRO_PROFESSOR)).isEmpty();
+        assertThat(atividadeRepository.findByProfessorId(PROFESSOR_UPLOAD))
+                .extracting(Atividade::getTitulo)
+                .containsExactlyInAnyOrder("Do outro professor", "Sem professor");
+    }
+
+    @Test
+    void importacaoCsvIgnoraProfessorDoArquivo() throws IOException {
+        String csv = """
+                titulo,descricao,professorId
+                Do outro professor,"Enunciado, com vírgula",99
+                """;
+
+        ResultadoImportacaoResponse resultado = importar(FormatoArquivo.CSV, csv);
+
+        assertThat(resultado.getImportadas()).isEqualTo(1);
+        assertThat(atividadeRepository.findByProfessorId(OUTRO_PROFESSOR)).isEmpty();
+        assertThat(atividadeRepository.findByProfessorId(PROFESSOR_UPLOAD))
+                .singleElement()
+                .satisfies(atividade -> assertThat(atividade.getDescricao()).isEqualTo("Enunciado, com vírgula"));
+    }
+
+    @Test
+    void restauracaoMantemProfessorDeCadaRegistro() throws IOException {
+        String csv = """
+                id,titulo,descricao,professorId
+                10,Do outro professor,Enunciado,99
+                11,Do professor do upload,Enunciado,7
+                12,Sem professor,Enunciado,
+                """;
+
+        ResultadoImportacaoResponse resultado = arquivoService.restaurar(FormatoArquivo.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(resultado.getImportadas()).isEqualTo(2);
+        assertThat(resultado.getRejeitadas()).isEqualTo(1);
+        assertThat(resultado.getErros()).containsExactly("Registro 4: O professorId é obrigatório.");
+        assertThat(atividadeRepository.findByProfessorId(OUTRO_PROFESSOR))
+                .extracting(Atividade::getTitulo)
+                .containsExactly("Do outro professor");
+        assertThat(atividadeRepository.findByProfessorId(PROFESSOR_UPLOAD))
+                .extracting(Atividade::getTitulo)
+                .containsExactly("Do professor do upload");
+    }
+
+    private ResultadoImportacaoResponse importar(FormatoArquivo formato, String conteudo) throws IOException {
+        return arquivoService.importar(formato,
+                new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8)), PROFESSOR_UPLOAD);
+    }
+}
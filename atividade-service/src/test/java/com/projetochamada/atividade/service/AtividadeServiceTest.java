@@ -0,0 +1,88 @@
+package com.projetochamada.atividade.service;
+
+import com.projetochamada.atividade.dto.AtividadeRequest;
+import com.projetochamada.atividade.dto.AtividadeResponse;
+import com.projetochamada.atividade.event.AtividadeAlteradaEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+// Sem transação de teste: os cenários dependem de commits reais
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:servico;DB_CLOSE_DELAY=-1")
+@RecordApplicationEvents
+class AtividadeServiceTest {
+
+    @Autowired
+    private AtividadeService atividadeService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ApplicationEvents eventos;
+
+    @Test
+    void etagDasListagensMudaQuandoATransacaoMaisAntigaConfirmaPorUltimo() {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        TransactionTemplate outraTransacao = new TransactionTemplate(transactionManager);
+        outraTransacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        AtomicReference<String> antesDoCommit = new AtomicReference<>();
+
+        transacao.executeWithoutResult(status -> {
+            // Pega o número menor da sequência de alterações e só confirma no fim
+            atividadeService.criarAtividade(new AtividadeRequest("Mais antiga", "Enunciado", null), 1L);
+            // Pega o número seguinte e confirma antes
+            outraTransacao.executeWithoutResult(outra ->
+                    atividadeService.criarAtividade(new AtividadeRequest("Mais nova", "Enunciado", null), 1L));
+            antesDoCommit.set(outraTransacao.execute(leitura -> atividadeService.versaoDasListagens()));
+        });
+
+        assertThat(atividadeService.versaoDasListagens()).isNotEqualTo(antesDoCommit.get());
+    }
+
+    @Test
+    void edicaoEExclusaoFazemUmComandoCadaEDevolvemAVersaoGravada() {
+        AtividadeResponse criada = atividadeService.criarAtividade(
+                new AtividadeRequest("Original", "Enunciado", null), 1L);
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        long antes = estatisticas.getPrepareStatementCount();
+        ResultadoEscrita edicao = atividadeService.editarAtividade(criada.getId(),
+                new AtividadeRequest("Editada", "Novo enunciado", null), 1L);
+        assertThat(estatisticas.getPrepareStatementCount() - antes).isEqualTo(1);
+
+        AtividadeResponse editada = edicao.getAtividade();
+        assertThat(editada.getTitulo()).isEqualTo("Editada");
+        assertThat(editada.getDescricao()).isEqualTo("Novo enunciado");
+        // A coluna arredonda para microssegundos
+        assertThat(editada.getDataCriacao()).isCloseTo(criada.getDataCriacao(), within(1, ChronoUnit.MICROS));
+        assertThat(editada.getVersao()).isEqualTo(criada.getVersao() + 1);
+
+        antes = estatisticas.getPrepareStatementCount();
+        assertThat(atividadeService.excluirAtividade(criada.getId(), 1L).getStatus())
+                .isEqualTo(ResultadoEscrita.Status.SUCESSO);
+        assertThat(estatisticas.getPrepareStatementCount() - antes).isEqualTo(1);
+
+        assertThat(eventos.stream(AtividadeAlteradaEvent.class)
+                .filter(evento -> evento.getTipo() == AtividadeAlteradaEvent.Tipo.EXCLUIDA))
+                .singleElement()
+                .satisfies(evento -> assertThat(evento.getVersao()).isEqualTo(criada.getVersao() + 2));
+    }
+}